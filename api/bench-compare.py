@@ -0,0 +1,54 @@
+#!/usr/bin/env python3
+"""Compares two JMH JSON result files written by bench.sh.
+
+    python3 bench-compare.py bench-results/abc1234.json bench-results/def5678.json
+
+Prints one row per benchmark and parameter set found in both files. The
+change is relative to the first file. Rows whose difference exceeds both
+runs' error margins are flagged; for time modes lower is better, for
+throughput higher is better.
+"""
+import json
+import sys
+
+
+def load(path):
+    with open(path) as f:
+        runs = json.load(f)
+    results = {}
+    for run in runs:
+        params = ",".join(f"{k}={v}" for k, v in sorted((run.get("params") or {}).items()))
+        name = run["benchmark"].rsplit(".", 2)
+        key = ".".join(name[-2:]) + (f" [{params}]" if params else "")
+        metric = run["primaryMetric"]
+        error = float(metric.get("scoreError") or 0.0)  # "NaN" with fewer than three iterations
+        results[key] = (run["mode"], metric["score"], 0.0 if error != error else error, metric["scoreUnit"])
+    return results
+
+
+def main():
+    if len(sys.argv) != 3:
+        sys.exit(__doc__)
+    base, head = load(sys.argv[1]), load(sys.argv[2])
+    keys = [k for k in base if k in head]
+    if not keys:
+        sys.exit("no benchmarks in common")
+
+    width = max(len(k) for k in keys)
+    print(f"{'benchmark':<{width}}  {'base':>12}  {'head':>12}  {'unit':<8}  change")
+    for key in sorted(keys):
+        mode, b, b_err, unit = base[key]
+        _, h, h_err, _ = head[key]
+        change = (h - b) / b * 100 if b else float("nan")
+        flag = ""
+        if abs(h - b) > b_err + h_err:
+            better = h > b if mode == "thrpt" else h < b
+            flag = "  faster" if better else "  SLOWER"
+        print(f"{key:<{width}}  {b:>12.3f}  {h:>12.3f}  {unit:<8}  {change:+7.1f}%{flag}")
+
+    for key in sorted(set(base) ^ set(head)):
+        print(f"{key}: only in {'base' if key in base else 'head'}")
+
+
+if __name__ == "__main__":
+    main()
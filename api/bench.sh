@@ -0,0 +1,23 @@
+#!/bin/sh
+# Runs the JMH benchmarks and keeps the JSON results per commit, for
+# comparing with bench-compare.py.
+#
+#   ./bench.sh                      all benchmarks
+#   ./bench.sh "Ingest|VectorJson"  benchmarks matching a regex
+#   BENCH_OPTS="-f 2 -wi 5 -i 10" ./bench.sh
+set -e
+cd "$(dirname "$0")"
+
+commit=$(git rev-parse --short HEAD)
+if ! git diff --quiet HEAD -- src pom.xml; then
+  commit="$commit-dirty"
+fi
+mkdir -p bench-results
+out="bench-results/$commit.json"
+
+./mvnw -q -B -Pbench test-compile exec:exec \
+  -Dbench.result="$PWD/$out" \
+  -Dbench.args="${BENCH_OPTS:--f 1 -wi 3 -i 5} $*"
+
+echo "Results written to $out"
+echo "Compare with: python3 bench-compare.py bench-results/<base>.json $out"
@@ -0,0 +1,115 @@
+package com.vectormind.api.bench;
+
+import com.vectormind.api.vector.ChunkMatrix;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.*;
+
+/** Synthetic payloads shared by the benchmarks. */
+final class BenchData {
+
+    private static final String[] WORDS = {
+        "revenue", "contract", "clause", "the", "of", "quarterly", "report", "and", "liability",
+        "section", "payment", "term", "party", "agreement", "shall", "notice", "invoice", "2024"
+    };
+
+    private BenchData() {}
+
+    static String words(Random random, int count) {
+        StringBuilder sb = new StringBuilder(count * 8);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    static String text(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length + 16);
+        while (sb.length() < length) {
+            if (sb.length() > 0) sb.append(' ');
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        sb.setLength(length);
+        return sb.toString();
+    }
+
+    /** A data.Get.Chunk response shaped like Weaviate's, with the fields SearchController asks for. */
+    static Map<String, Object> chunkResponse(int results, int textLength) {
+        Random random = new Random(7);
+        List<Map<String, Object>> chunks = new ArrayList<>(results);
+        for (int i = 0; i < results; i++) {
+            Map<String, Object> chunk = new LinkedHashMap<>();
+            chunk.put("text", text(random, textLength));
+            chunk.put("page", i + 1);
+            chunk.put("docId", UUID.nameUUIDFromBytes(("doc" + i % 10).getBytes()).toString());
+            chunk.put("userId", "user_bench");
+            chunk.put("_additional", Map.of("certainty", random.nextDouble()));
+            chunks.add(chunk);
+        }
+        return Map.of("data", Map.of("Get", Map.of("Chunk", chunks)));
+    }
+
+    /** A multi-query response: aliases q0, q1, … each holding its share of the results. */
+    static Map<String, Object> batchChunkResponse(int queries, int results, int textLength) {
+        Object chunks = ((Map<?, ?>) ((Map<?, ?>) chunkResponse(results, textLength).get("data")).get("Get")).get("Chunk");
+        List<?> all = (List<?>) chunks;
+        Map<String, Object> aliases = new LinkedHashMap<>();
+        int per = Math.max(1, results / queries);
+        for (int q = 0; q < queries; q++) {
+            aliases.put("q" + q, all.subList(Math.min(all.size(), q * per), Math.min(all.size(), (q + 1) * per)));
+        }
+        return Map.of("data", Map.of("Get", aliases));
+    }
+
+    /** A text-only PDF of the given number of pages, about 750 words each. */
+    static byte[] pdf(Random random, int pages) throws IOException {
+        try (PDDocument doc = new PDDocument()) {
+            for (int p = 0; p < pages; p++) {
+                PDPage page = new PDPage();
+                doc.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(doc, page)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 10);
+                    content.setLeading(12);
+                    content.newLineAtOffset(50, 750);
+                    for (int line = 0; line < 55; line++) {
+                        content.showText(words(random, 14));
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            doc.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    static float[] unitVector(Random random, int dimensions) {
+        float[] v = new float[dimensions];
+        double norm = 0;
+        for (int i = 0; i < dimensions; i++) {
+            v[i] = (float) random.nextGaussian();
+            norm += v[i] * v[i];
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < dimensions; i++) v[i] *= scale;
+        return v;
+    }
+
+    /** One user's corpus spread over ten documents, with random unit vectors. */
+    static List<ChunkMatrix.Row> chunkRows(Random random, int chunks, int dimensions) {
+        List<ChunkMatrix.Row> rows = new ArrayList<>(chunks);
+        for (int i = 0; i < chunks; i++) {
+            rows.add(new ChunkMatrix.Row(
+                UUID.randomUUID().toString(), "doc" + i % 10, "default", "chunk " + i, i + 1, unitVector(random, dimensions)));
+        }
+        return rows;
+    }
+}
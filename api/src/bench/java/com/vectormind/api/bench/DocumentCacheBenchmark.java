@@ -0,0 +1,138 @@
+package com.vectormind.api.bench;
+
+import com.vectormind.api.DiskDocumentCache;
+import com.vectormind.api.DocumentCacheService;
+import com.vectormind.api.DocumentReference;
+import com.vectormind.api.DocumentReferenceRepository;
+import com.vectormind.api.DriveSyncService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * The document cache's read paths. getDocument covers a heap hit and a miss
+ * that goes back to the source; the entry is evicted before each call. The
+ * source is a Drive stub that returns the bytes at once, so a miss measures
+ * the cache's own cost: loader hand-off, reference lookup and access
+ * bookkeeping. diskTierRead is a hit in the disk tier read whole, and
+ * diskTierStream the same hit streamed through a reused direct buffer. Both
+ * use the disk tier directly, because C2 in JDK 17.0.9 crashes compiling
+ * getDocumentAsync when every load spills to disk.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DocumentCacheBenchmark {
+
+    private static final String USER = "user_bench";
+    private static final String DOC = "doc-bench";
+
+    @State(Scope.Benchmark)
+    public static class Service {
+
+        @Param({"heap", "miss"})
+        public String path;
+
+        @Param({"1048576"})
+        public int documentSize;
+
+        Path dir;
+        DocumentCacheService cache;
+
+        @Setup
+        public void setUp() throws IOException {
+            byte[] content = content(documentSize);
+            dir = Files.createTempDirectory("bench-cache");
+
+            DocumentReference ref = new DocumentReference(DOC, USER, "bench.pdf", "drive-bench", "drive");
+            DocumentReferenceRepository references = (DocumentReferenceRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] {DocumentReferenceRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByDocIdAndUserId" -> Optional.of(ref);
+                    case "save" -> args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+            DriveSyncService drive = new DriveSyncService(null, null, null, 1) {
+                @Override
+                public byte[] downloadFileContent(String googleDriveId, String userId) {
+                    return content;
+                }
+            };
+
+            cache = new DocumentCacheService(references, drive, 3600, 30, 900,
+                268_435_456L, 33_554_432L, 1_073_741_824L, dir.toString(), 2);
+            cache.getDocument(DOC, USER);
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            cache.clear();
+            delete(dir);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Disk {
+
+        @Param({"1048576"})
+        public int documentSize;
+
+        Path dir;
+        DiskDocumentCache cache;
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+
+        @Setup
+        public void setUp() throws IOException {
+            dir = Files.createTempDirectory("bench-disk-cache");
+            cache = new DiskDocumentCache(dir, 1_073_741_824L);
+            cache.put(USER + ":" + DOC, content(documentSize));
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            cache.clear();
+            delete(dir);
+        }
+    }
+
+    @Benchmark
+    public int getDocument(Service s) {
+        if (s.path.equals("miss")) s.cache.evictDocument(DOC, USER);
+        return s.cache.getDocument(DOC, USER).length;
+    }
+
+    @Benchmark
+    public int diskTierRead(Disk d) {
+        return d.cache.get(USER + ":" + DOC).length;
+    }
+
+    @Benchmark
+    public long diskTierStream(Disk d) throws IOException {
+        long total = 0;
+        try (FileChannel channel = d.cache.open(USER + ":" + DOC)) {
+            for (int n; (n = channel.read(d.buffer.clear())) > 0; ) total += n;
+        }
+        return total;
+    }
+
+    private static byte[] content(int size) {
+        byte[] content = new byte[size];
+        new Random(42).nextBytes(content);
+        return content;
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(p);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.vectormind.api.bench;
+
+import com.vectormind.api.IngestionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The CPU-bound front of ingestion on generated text PDFs: extracting the
+ * text (IngestionService.extractPdfText, PDFBox underneath) and splitting it
+ * with chunkText. Nothing is embedded or written.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IngestBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int pages;
+
+    private IngestionService ingestion;
+    private byte[] pdf;
+    private String text;
+
+    @Setup
+    public void setUp() throws IOException {
+        ingestion = new IngestionService(null, null, null, null,
+            new SimpleMeterRegistry(), ObservationRegistry.NOOP, 100, 1);
+        pdf = BenchData.pdf(new Random(7), pages);
+        text = ingestion.extractPdfText(pdf, "bench");
+        System.out.printf("%npdf bytes=%d text chars=%d chunks=%d%n",
+            pdf.length, text.length(), IngestionService.chunkText(text, IngestionService.TOKENS_PER_CHUNK).size());
+    }
+
+    @Benchmark
+    public int extractPdfText() throws IOException {
+        return ingestion.extractPdfText(pdf, "bench").length();
+    }
+
+    @Benchmark
+    public int chunkText() {
+        return IngestionService.chunkText(text, IngestionService.TOKENS_PER_CHUNK).size();
+    }
+}
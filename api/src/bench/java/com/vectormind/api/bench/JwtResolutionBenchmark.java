@@ -0,0 +1,67 @@
+package com.vectormind.api.bench;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.vectormind.api.controller.TokenSubjectCache;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request auth cost for PdfController's query-string token: a full
+ * JwtDecoder.decode (RS256 verification plus claim validation) against the
+ * cached token → subject lookup. JWKS fetching is excluded; the decoder is
+ * built from the public key, so the uncached figure is a lower bound.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtResolutionBenchmark {
+
+    private String token;
+    private JwtDecoder decoder;
+    private TokenSubjectCache cache;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keys = generator.generateKeyPair();
+
+        SignedJWT jwt = new SignedJWT(
+            new JWSHeader(JWSAlgorithm.RS256),
+            new JWTClaimsSet.Builder()
+                .subject("user_bench")
+                .issueTime(new Date())
+                .expirationTime(new Date(System.currentTimeMillis() + 3_600_000))
+                .build());
+        jwt.sign(new RSASSASigner(keys.getPrivate()));
+        token = jwt.serialize();
+
+        decoder = NimbusJwtDecoder.withPublicKey((RSAPublicKey) keys.getPublic()).build();
+        cache = new TokenSubjectCache(
+            new StaticListableBeanFactory(Map.of("jwtDecoder", decoder)).getBeanProvider(JwtDecoder.class));
+        cache.resolve(token);
+    }
+
+    @Benchmark
+    public String decodeEveryRequest() {
+        return decoder.decode(token).getSubject();
+    }
+
+    @Benchmark
+    public String cachedSubject() {
+        return cache.resolve(token);
+    }
+}
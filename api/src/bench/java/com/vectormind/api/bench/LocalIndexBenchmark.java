@@ -0,0 +1,76 @@
+package com.vectormind.api.bench;
+
+import com.vectormind.api.vector.ChunkMatrix;
+import com.vectormind.api.weaviate.ChunkFilter;
+import com.vectormind.api.weaviate.ChunkHit;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top-4 latency of the in-process index over one user's corpus. Setup prints
+ * recall@4 against a double-precision exact ranking; the index is exhaustive,
+ * so anything under 1.0 would be float rounding between near-ties. Compare
+ * the scores with the p50 of /api/search's Weaviate call (~5-30 ms over the
+ * network for the same corpus sizes).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LocalIndexBenchmark {
+
+    @Param({"1000", "10000", "50000"})
+    public int chunks;
+
+    @Param({"384"})
+    public int dimensions;
+
+    private ChunkMatrix matrix;
+    private float[][] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        List<ChunkMatrix.Row> rows = BenchData.chunkRows(random, chunks, dimensions);
+        matrix = ChunkMatrix.of(dimensions, rows);
+        queries = new float[64][];
+        for (int i = 0; i < queries.length; i++) queries[i] = BenchData.unitVector(random, dimensions);
+
+        int found = 0;
+        for (float[] q : queries) {
+            Set<String> exact = exactTop(rows, q, 4);
+            for (ChunkHit hit : matrix.topK(q, 4, ChunkFilter.NONE, "user")) {
+                if (exact.contains(hit.text())) found++;
+            }
+        }
+        System.out.printf("%nrecall@4 = %.3f%n", found / (4.0 * queries.length));
+    }
+
+    @Benchmark
+    public List<ChunkHit> topK() {
+        return matrix.topK(queries[next++ & 63], 4, ChunkFilter.NONE, "user");
+    }
+
+    @Benchmark
+    public List<ChunkHit> topKOneDocument() {
+        return matrix.topK(queries[next++ & 63], 4, ChunkFilter.document("doc3"), "user");
+    }
+
+    private static Set<String> exactTop(List<ChunkMatrix.Row> rows, float[] q, int k) {
+        Integer[] order = new Integer[rows.size()];
+        double[] score = new double[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            float[] v = rows.get(i).vector();
+            double dot = 0;
+            for (int d = 0; d < v.length; d++) dot += (double) v[d] * q[d];
+            score[i] = dot;
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(score[b], score[a]));
+        Set<String> top = new HashSet<>();
+        for (int i = 0; i < k; i++) top.add(rows.get(order[i]).text());
+        return top;
+    }
+}
@@ -0,0 +1,133 @@
+package com.vectormind.api.bench;
+
+import com.vectormind.api.controller.FileRegionSender;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serving a PDF over a loopback socket: the Resource path Spring MVC uses
+ * (InputStream copied through a heap buffer) against FileChannel.transferTo,
+ * both straight to the socket (what sendfile does) and through the servlet
+ * output stream (the fallback when the connector offers no sendfile).
+ * Each iteration also prints the sending thread's CPU time per GB served.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PdfServingBenchmark {
+
+    @Param({"1048576", "20971520"})
+    public int fileSize;
+
+    /** 0 serves the whole file; otherwise a range of this many bytes from the middle. */
+    @Param({"0", "65536"})
+    public int rangeSize;
+
+    private Path file;
+    private ServerSocketChannel server;
+    private SocketChannel client;
+    private OutputStream clientStream;
+    private Thread drain;
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private long cpuNanos;
+    private long bytesSent;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        byte[] content = new byte[fileSize];
+        new Random(42).nextBytes(content);
+        file = Files.createTempFile("bench", ".pdf");
+        Files.write(file, content);
+
+        server = ServerSocketChannel.open().bind(new InetSocketAddress("127.0.0.1", 0));
+        client = SocketChannel.open(server.getLocalAddress());
+        SocketChannel accepted = server.accept();
+        drain = new Thread(() -> {
+            ByteBuffer sink = ByteBuffer.allocateDirect(1 << 20);
+            try {
+                while (accepted.read(sink) >= 0) sink.clear();
+            } catch (IOException ignored) {
+                // socket closed at tear-down
+            }
+        }, "bench-drain");
+        drain.setDaemon(true);
+        drain.start();
+        clientStream = Channels.newOutputStream(client);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        client.close();
+        server.close();
+        Files.deleteIfExists(file);
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportCpu(BenchmarkParams params) {
+        if (bytesSent > 0) {
+            double gb = bytesSent / (1024.0 * 1024 * 1024);
+            System.out.printf("%n%s: %.1f ms CPU per GB served%n",
+                params.getBenchmark(), cpuNanos / 1e6 / gb);
+        }
+        cpuNanos = 0;
+        bytesSent = 0;
+    }
+
+    private long start() {
+        return rangeSize == 0 ? 0 : (fileSize - rangeSize) / 2;
+    }
+
+    private long length() {
+        return rangeSize == 0 ? fileSize : rangeSize;
+    }
+
+    @Benchmark
+    public long resourceStreamCopy() throws IOException {
+        long before = threads.getCurrentThreadCpuTime();
+        long sent;
+        try (InputStream in = new FileSystemResource(file).getInputStream()) {
+            sent = StreamUtils.copyRange(in, clientStream, start(), start() + length() - 1);
+        }
+        account(before, sent);
+        return sent;
+    }
+
+    @Benchmark
+    public long transferToSocket() throws IOException {
+        long before = threads.getCurrentThreadCpuTime();
+        long sent = FileRegionSender.transfer(file, start(), length(), client);
+        account(before, sent);
+        return sent;
+    }
+
+    @Benchmark
+    public long transferToServletStream() throws IOException {
+        long before = threads.getCurrentThreadCpuTime();
+        long sent = FileRegionSender.transfer(file, start(), length(), Channels.newChannel(clientStream));
+        account(before, sent);
+        return sent;
+    }
+
+    private void account(long cpuBefore, long sent) {
+        cpuNanos += threads.getCurrentThreadCpuTime() - cpuBefore;
+        bytesSent += sent;
+    }
+}
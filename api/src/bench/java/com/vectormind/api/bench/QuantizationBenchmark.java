@@ -0,0 +1,78 @@
+package com.vectormind.api.bench;
+
+import com.vectormind.api.vector.ChunkMatrix;
+import com.vectormind.api.vector.FloatRowStore;
+import com.vectormind.api.weaviate.ChunkFilter;
+import com.vectormind.api.weaviate.ChunkHit;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Float against int8-quantized chunk matrices on a synthetic corpus of random
+ * unit vectors (a hard case: no clusters, many near-ties). Setup prints
+ * recall@4 of the quantized matrix, with re-ranking, against the float one,
+ * and the heap bytes each holds for vectors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QuantizationBenchmark {
+
+    @Param({"10000", "50000"})
+    public int chunks;
+
+    @Param({"384"})
+    public int dimensions;
+
+    private Path storeFile;
+    private FloatRowStore store;
+    private ChunkMatrix floats;
+    private ChunkMatrix quantized;
+    private float[][] queries;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(7);
+        List<ChunkMatrix.Row> rows = BenchData.chunkRows(random, chunks, dimensions);
+        storeFile = Files.createTempFile("rows", ".f32");
+        store = new FloatRowStore(storeFile, dimensions);
+        floats = ChunkMatrix.of(dimensions, rows);
+        quantized = ChunkMatrix.quantized(dimensions, rows, store);
+        queries = new float[200][];
+        for (int i = 0; i < queries.length; i++) queries[i] = BenchData.unitVector(random, dimensions);
+
+        int found = 0;
+        for (float[] q : queries) {
+            Set<String> exact = new HashSet<>();
+            for (ChunkHit hit : floats.topK(q, 4, ChunkFilter.NONE, "user")) exact.add(hit.text());
+            for (ChunkHit hit : quantized.topK(q, 4, ChunkFilter.NONE, "user")) {
+                if (exact.contains(hit.text())) found++;
+            }
+        }
+        System.out.printf("%nrecall@4 = %.4f, vector heap bytes: float=%d int8=%d (%.1fx)%n",
+            found / (4.0 * queries.length), floats.vectorBytes(), quantized.vectorBytes(),
+            (double) floats.vectorBytes() / quantized.vectorBytes());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        store.close();
+        Files.deleteIfExists(storeFile);
+    }
+
+    @Benchmark
+    public List<ChunkHit> floatTopK() {
+        return floats.topK(queries[next++ % queries.length], 4, ChunkFilter.NONE, "user");
+    }
+
+    @Benchmark
+    public List<ChunkHit> quantizedTopK() {
+        return quantized.topK(queries[next++ % queries.length], 4, ChunkFilter.NONE, "user");
+    }
+}
@@ -0,0 +1,84 @@
+package com.vectormind.api.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vectormind.api.weaviate.NearVectorQuery;
+import com.vectormind.api.weaviate.WhereFilter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to turn a 384-d query vector into a serialized GraphQL request body:
+ * String.format over List<Double> against NearVectorQuery over float[],
+ * plus a 16-query multi-query body as /api/search/batch sends it. The
+ * returned value is the body size in bytes, printed once at setup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QueryEncodeBenchmark {
+
+    @Param({"384"})
+    public int dimensions;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private float[] vector;
+    private List<Double> boxed;
+
+    @Setup
+    public void setUp() throws IOException {
+        vector = BenchData.unitVector(new Random(7), dimensions);
+        boxed = new ArrayList<>(dimensions);
+        for (float v : vector) boxed.add((double) v);
+        System.out.printf("%nrequest bytes: formatted=%d builder=%d batch=%d%n", formatted(), builder(), batchBuilder());
+    }
+
+    @Benchmark
+    public int formatted() throws IOException {
+        String where = String.format(
+            "operator:And,operands:[{path:[\"userId\"],operator:Equal,valueText:\"%s\"},{path:[\"docId\"],operator:Equal,valueText:\"%s\"}]",
+            "user_2abc", "doc-123");
+        String gql = String.format("""
+            {
+              Get {
+                Chunk(
+                  where: { %s }
+                  nearVector: { vector: %s }
+                  limit: 4
+                ) {
+                  text page docId userId _additional { certainty }
+                }
+              }
+            }
+        """, where, boxed);
+        return mapper.writeValueAsBytes(Map.of("query", gql)).length;
+    }
+
+    @Benchmark
+    public int builder() throws IOException {
+        Map<String, Object> body = NearVectorQuery.of("Chunk")
+            .vector(vector)
+            .where(WhereFilter.and(List.of(
+                WhereFilter.equal("userId", "user_2abc"),
+                WhereFilter.equal("docId", "doc-123"))))
+            .limit(4)
+            .fields("text page docId userId _additional { certainty }")
+            .toRequestBody();
+        return mapper.writeValueAsBytes(body).length;
+    }
+
+    @Benchmark
+    public int batchBuilder() throws IOException {
+        List<NearVectorQuery> queries = new ArrayList<>(16);
+        for (int i = 0; i < 16; i++) {
+            queries.add(NearVectorQuery.of("Chunk")
+                .vector(vector)
+                .where(WhereFilter.equal("userId", "user_2abc"))
+                .limit(4)
+                .fields("text page docId userId _additional { certainty }"));
+        }
+        return mapper.writeValueAsBytes(NearVectorQuery.batchRequestBody(queries)).length;
+    }
+}
@@ -0,0 +1,69 @@
+package com.vectormind.api.bench;
+
+import com.vectormind.api.vector.ChunkMatrix;
+import com.vectormind.api.vector.ScalarKernel;
+import com.vectormind.api.vector.SimdKernel;
+import com.vectormind.api.vector.SimilarityKernel;
+import com.vectormind.api.vector.VectorMath;
+import com.vectormind.api.weaviate.ChunkFilter;
+import com.vectormind.api.weaviate.ChunkHit;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exact scoring of one document's chunks: the scalar and Vector API kernels
+ * over a packed float[] block, and the full top-4 the search path runs. Read
+ * against the nearVector round trip (~5-30 ms) to find the crossover, e.g.
+ * mvn -Pbench test-compile exec:exec -Dbench.args="SimilarityKernel"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SimilarityKernelBenchmark {
+
+    @Param({"100", "300", "1000", "3000", "10000"})
+    public int chunks;
+
+    @Param({"384"})
+    public int dimensions;
+
+    private final SimilarityKernel scalar = new ScalarKernel();
+    private final SimilarityKernel simd = new SimdKernel();
+    private float[] rows;
+    private float[] query;
+    private float[] scores;
+    private ChunkMatrix matrix;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        List<ChunkMatrix.Row> list = BenchData.chunkRows(random, chunks, dimensions);
+        rows = new float[chunks * dimensions];
+        for (int i = 0; i < chunks; i++) {
+            System.arraycopy(list.get(i).vector(), 0, rows, i * dimensions, dimensions);
+        }
+        matrix = ChunkMatrix.of(dimensions, list);
+        query = BenchData.unitVector(random, dimensions);
+        scores = new float[chunks];
+        System.out.printf("%nkernel in use: %s%n", VectorMath.kernel().name());
+    }
+
+    @Benchmark
+    public float[] scalarScores() {
+        scalar.scoreRows(query, rows, 0, chunks, scores);
+        return scores;
+    }
+
+    @Benchmark
+    public float[] simdScores() {
+        simd.scoreRows(query, rows, 0, chunks, scores);
+        return scores;
+    }
+
+    @Benchmark
+    public List<ChunkHit> topK() {
+        return matrix.topK(query, 4, ChunkFilter.NONE, "user");
+    }
+}
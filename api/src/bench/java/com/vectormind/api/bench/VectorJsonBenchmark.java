@@ -0,0 +1,95 @@
+package com.vectormind.api.bench;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vectormind.api.vector.Vector;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vectors through Jackson at ingestion's batch size. Serializing is one
+ * /v1/batch/objects body of chunk objects, shaped as IngestionService
+ * builds it. Deserializing is an embedder response of the same vectors.
+ * Each is measured with Vector (written from and read into float[]) and
+ * with the List<Double> it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VectorJsonBenchmark {
+
+    private static final TypeReference<Map<String, List<Vector>>> VECTORS = new TypeReference<>() {};
+    private static final TypeReference<Map<String, List<List<Double>>>> BOXED = new TypeReference<>() {};
+
+    @Param({"100"})
+    public int batch;
+
+    @Param({"384"})
+    public int dimensions;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private Map<String, Object> vectorBody;
+    private Map<String, Object> boxedBody;
+    private byte[] embedResponse;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(7);
+        List<Map<String, Object>> vectorObjects = new ArrayList<>(batch);
+        List<Map<String, Object>> boxedObjects = new ArrayList<>(batch);
+        List<Vector> vectors = new ArrayList<>(batch);
+        for (int i = 0; i < batch; i++) {
+            Vector vector = new Vector(BenchData.unitVector(random, dimensions));
+            List<Double> boxed = new ArrayList<>(dimensions);
+            for (float v : vector.values()) boxed.add((double) v);
+            vectors.add(vector);
+            vectorObjects.add(chunkObject(random, i, vector));
+            boxedObjects.add(chunkObject(random, i, boxed));
+        }
+        vectorBody = Map.of("objects", vectorObjects);
+        boxedBody = Map.of("objects", boxedObjects);
+        embedResponse = mapper.writeValueAsBytes(Map.of("embeddings", vectors));
+    }
+
+    private static Map<String, Object> chunkObject(Random random, int page, Object vector) {
+        return Map.of(
+            "class", "Chunk",
+            "id", UUID.randomUUID().toString(),
+            "properties", Map.of(
+                "docId", "doc-bench",
+                "workspace", "default",
+                "text", BenchData.words(random, 400),
+                "page", page + 1,
+                "userId", "user_bench"
+            ),
+            "vector", vector
+        );
+    }
+
+    @Benchmark
+    public int serializeVector() throws IOException {
+        return mapper.writeValueAsBytes(vectorBody).length;
+    }
+
+    @Benchmark
+    public int serializeBoxed() throws IOException {
+        return mapper.writeValueAsBytes(boxedBody).length;
+    }
+
+    @Benchmark
+    public int deserializeVector() throws IOException {
+        int n = 0;
+        for (Vector v : mapper.readValue(embedResponse, VECTORS).get("embeddings")) n += v.dimensions();
+        return n;
+    }
+
+    @Benchmark
+    public int deserializeBoxed() throws IOException {
+        int n = 0;
+        for (List<Double> v : mapper.readValue(embedResponse, BOXED).get("embeddings")) n += v.size();
+        return n;
+    }
+}
@@ -0,0 +1,80 @@
+package com.vectormind.api.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vectormind.api.weaviate.ChunkHit;
+import com.vectormind.api.weaviate.GraphQLResponseDecoder;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decode time per 1k Chunk results: the old untyped path (Map.class plus
+ * nested casts) against the streaming typed decoder, and the same results
+ * split over 16 aliases of a multi-query response. Run with -prof gc to
+ * compare allocation per operation, e.g.
+ * mvn -Pbench test-compile exec:exec -Dbench.args="WeaviateDecode -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WeaviateDecodeBenchmark {
+
+    @Param({"1000"})
+    public int results;
+
+    /** Characters of chunk text per result; chunks are ~400 words in practice. */
+    @Param({"2400"})
+    public int textLength;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private GraphQLResponseDecoder decoder;
+    private byte[] payload;
+    private byte[] batchPayload;
+
+    @Setup
+    public void setUp() throws IOException {
+        decoder = new GraphQLResponseDecoder(mapper.getFactory());
+        payload = mapper.writeValueAsBytes(BenchData.chunkResponse(results, textLength));
+        batchPayload = mapper.writeValueAsBytes(BenchData.batchChunkResponse(16, results, textLength));
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public int untypedMap() throws IOException {
+        Map<?,?> weav = mapper.readValue(payload, Map.class);
+        List<Map<String,Object>> chunks = (List<Map<String,Object>>)
+            ((Map<?,?>)((Map<?,?>)weav.get("data")).get("Get")).get("Chunk");
+        int pages = 0;
+        for (var c : chunks) {
+            String text = String.valueOf(c.get("text"));
+            Object certainty = ((Map<?,?>)c.get("_additional")).get("certainty");
+            pages += ((Number) c.get("page")).intValue() + text.length() + (certainty != null ? 1 : 0);
+        }
+        return pages;
+    }
+
+    @Benchmark
+    public int streamingTyped() throws IOException {
+        List<ChunkHit> chunks = decoder.decode(new ByteArrayInputStream(payload), "Get", "Chunk", ChunkHit.READER);
+        int pages = 0;
+        for (ChunkHit c : chunks) {
+            pages += c.page() + c.text().length() + (c.certainty() != null ? 1 : 0);
+        }
+        return pages;
+    }
+
+    @Benchmark
+    public int streamingTypedBatch() throws IOException {
+        Map<String, List<ChunkHit>> byAlias = decoder.decodeAll(new ByteArrayInputStream(batchPayload), "Get", ChunkHit.READER);
+        int pages = 0;
+        for (List<ChunkHit> chunks : byAlias.values()) {
+            for (ChunkHit c : chunks) {
+                pages += c.page() + c.text().length() + (c.certainty() != null ? 1 : 0);
+            }
+        }
+        return pages;
+    }
+}
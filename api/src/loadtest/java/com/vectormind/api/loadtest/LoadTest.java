@@ -0,0 +1,396 @@
+package com.vectormind.api.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * End-to-end load test. Starts {@link StubServers} in place of Weaviate, the
+ * embedder, OpenAI and Clerk, then forks the API against them. The fork runs
+ * from a temporary working directory, so its uploads/ and cache/ never touch
+ * the checkout. A pool of virtual users then sends a weighted mix of uploads,
+ * searches and document listings, each with its own signed JWT.
+ *
+ * <p>Requests are recorded only after the warmup. The run reports each
+ * operation's throughput, error rate and latency percentiles. It writes
+ * report.json and one HdrHistogram percentile file per operation to
+ * loadtest.out. The run exits with status 1 when an operation's error rate
+ * passes loadtest.max-error-rate, or when its p99 passes
+ * loadtest.max-p99-ms.{operation}.
+ *
+ * <p>Run with {@code mvn -Ploadtest test-compile exec:exec -Dloadtest.args="..."}.
+ * The properties and their defaults are read in {@link #main}.
+ */
+public final class LoadTest {
+
+    private static final String ISSUER_PATH = "/clerk";
+
+    /** One kind of request in the mix. */
+    private record Operation(String name, int weight, RequestFactory request) {}
+
+    private interface RequestFactory {
+        HttpRequest.Builder create(String baseUrl, Random random);
+    }
+
+    /** Latencies and outcomes of one operation. */
+    private static final class Stats {
+        final Recorder latency = new Recorder(TimeUnit.MINUTES.toMicros(2), 3);
+        final LongAdder ok = new LongAdder();
+        final LongAdder errors = new LongAdder();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.getInteger("loadtest.concurrency", 16);
+        int users = Integer.getInteger("loadtest.users", 20);
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup-s", 15));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration-s", 60));
+        String mix = System.getProperty("loadtest.mix", "upload:1,search:6,list:3");
+        double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+        Path out = Path.of(System.getProperty("loadtest.out", "target/loadtest"));
+        Files.createDirectories(out);
+
+        boolean regressed = false;
+        RSAKey signingKey = new RSAKeyGenerator(2048).keyID("loadtest").generate();
+        try (StubServers stubs = new StubServers(
+                Integer.getInteger("loadtest.dimensions", 384),
+                new JWKSet(signingKey.toPublicJWK()).toString())) {
+            String issuer = stubs.baseUrl() + ISSUER_PATH;
+            List<String> tokens = new ArrayList<>(users);
+            for (int i = 0; i < users; i++) {
+                tokens.add(token(signingKey, issuer, "loadtest-user-" + i));
+            }
+
+            Path workDir = Files.createTempDirectory("vectormind-loadtest");
+            int port = freePort();
+            Process app = startApp(stubs.baseUrl(), port, workDir, out.resolve("app.log"));
+            try {
+                String baseUrl = "http://127.0.0.1:" + port;
+                awaitReady(app, baseUrl, Duration.ofSeconds(Long.getLong("loadtest.startup-timeout-s", 180)));
+
+                Map<String, Stats> stats = new LinkedHashMap<>();
+                List<Operation> operations = operations(mix, pdfs());
+                operations.forEach(op -> stats.put(op.name(), new Stats()));
+
+                System.out.printf("Load test: %d workers, %d users, mix %s, %ds warmup, %ds measured%n",
+                    concurrency, users, mix, warmup.toSeconds(), duration.toSeconds());
+                Instant measureFrom = Instant.now().plus(warmup);
+                Instant until = measureFrom.plus(duration);
+                drive(baseUrl, operations, tokens, stats, concurrency, measureFrom, until);
+
+                Map<String, Object> report = report(stats, duration, out);
+                List<String> violations = violations(report, maxErrorRate);
+                report.put("violations", violations);
+                new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValue(out.resolve("report.json").toFile(), report);
+
+                violations.forEach(v -> System.out.println("REGRESSION: " + v));
+                regressed = !violations.isEmpty();
+                if (!regressed) System.out.println("All thresholds met; report in " + out.resolve("report.json"));
+            } finally {
+                app.destroy();
+                if (!app.waitFor(30, TimeUnit.SECONDS)) app.destroyForcibly();
+                deleteRecursively(workDir);
+            }
+        }
+        System.exit(regressed ? 1 : 0);
+    }
+
+    private static void drive(String baseUrl, List<Operation> operations, List<String> tokens,
+                              Map<String, Stats> stats, int concurrency, Instant measureFrom,
+                              Instant until) throws InterruptedException {
+        int totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+        HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        Duration timeout = Duration.ofSeconds(Long.getLong("loadtest.request-timeout-s", 60));
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        for (int w = 0; w < concurrency; w++) {
+            workers.execute(() -> {
+                Random random = ThreadLocalRandom.current();
+                while (Instant.now().isBefore(until)) {
+                    Operation op = pick(operations, random.nextInt(totalWeight));
+                    HttpRequest request = op.request().create(baseUrl, random)
+                        .header("Authorization", "Bearer " + tokens.get(random.nextInt(tokens.size())))
+                        .timeout(timeout)
+                        .build();
+                    Instant sent = Instant.now();
+                    long start = System.nanoTime();
+                    boolean ok;
+                    try {
+                        ok = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() / 100 == 2;
+                    } catch (IOException e) {
+                        ok = false;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+                    if (sent.isBefore(measureFrom)) continue;
+                    Stats s = stats.get(op.name());
+                    s.latency.recordValue(Math.min(micros, TimeUnit.MINUTES.toMicros(2)));
+                    (ok ? s.ok : s.errors).increment();
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(Duration.between(Instant.now(), until).toSeconds() + 120, TimeUnit.SECONDS);
+    }
+
+    private static Operation pick(List<Operation> operations, int ticket) {
+        for (Operation op : operations) {
+            ticket -= op.weight();
+            if (ticket < 0) return op;
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    /** Parses "name:weight,..." into the operations to send. */
+    private static List<Operation> operations(String mix, List<byte[]> pdfs) {
+        List<Operation> operations = new ArrayList<>();
+        for (String part : mix.split(",")) {
+            String[] kv = part.trim().split(":");
+            String name = kv[0].trim();
+            int weight = kv.length > 1 ? Integer.parseInt(kv[1].trim()) : 1;
+            if (weight <= 0) continue;
+            RequestFactory factory = switch (name) {
+                case "upload" -> (base, random) -> upload(base, pdfs.get(random.nextInt(pdfs.size())));
+                case "search" -> (base, random) -> HttpRequest.newBuilder(URI.create(base + "/api/search"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"query\":\"" + StubServers.words(random, 3 + random.nextInt(6)) + "\"}"));
+                case "list" -> (base, random) -> HttpRequest.newBuilder(URI.create(base + "/api/documents")).GET();
+                default -> throw new IllegalArgumentException("Unknown operation in loadtest.mix: " + name);
+            };
+            operations.add(new Operation(name, weight, factory));
+        }
+        if (operations.isEmpty()) throw new IllegalArgumentException("loadtest.mix has no operations");
+        return operations;
+    }
+
+    private static HttpRequest.Builder upload(String baseUrl, byte[] pdf) {
+        String boundary = "loadtest" + UUID.randomUUID();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(pdf.length + 256);
+        body.writeBytes(("--" + boundary + "\r\n"
+            + "Content-Disposition: form-data; name=\"file\"; filename=\"loadtest-" + UUID.randomUUID() + ".pdf\"\r\n"
+            + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(pdf);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/upload"))
+            .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+            .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()));
+    }
+
+    /** PDFs of a few sizes for uploads to pick from. */
+    private static List<byte[]> pdfs() throws IOException {
+        Random random = new Random(42);
+        List<byte[]> pdfs = new ArrayList<>();
+        for (int pages : new int[]{1, 5, 20}) {
+            try (PDDocument doc = new PDDocument(); ByteArrayOutputStream bytes = new ByteArrayOutputStream()) {
+                for (int p = 0; p < pages; p++) {
+                    PDPage page = new PDPage();
+                    doc.addPage(page);
+                    try (PDPageContentStream content = new PDPageContentStream(doc, page)) {
+                        content.beginText();
+                        content.setFont(PDType1Font.HELVETICA, 10);
+                        content.setLeading(12);
+                        content.newLineAtOffset(40, 750);
+                        for (int line = 0; line < 55; line++) {
+                            content.showText(StubServers.words(random, 12));
+                            content.newLine();
+                        }
+                        content.endText();
+                    }
+                }
+                doc.save(bytes);
+                pdfs.add(bytes.toByteArray());
+            }
+        }
+        return pdfs;
+    }
+
+    private static Map<String, Object> report(Map<String, Stats> stats, Duration duration, Path out) throws IOException {
+        Map<String, Object> operations = new LinkedHashMap<>();
+        long total = 0;
+        System.out.printf("%n%-8s %8s %9s %7s %9s %9s %9s %9s %9s%n",
+            "op", "count", "req/s", "err%", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<String, Stats> e : stats.entrySet()) {
+            Stats s = e.getValue();
+            Histogram h = s.latency.getIntervalHistogram();
+            long count = s.ok.sum() + s.errors.sum();
+            total += count;
+            double throughput = count / (double) duration.toSeconds();
+            double errorRate = count == 0 ? 0 : s.errors.sum() / (double) count;
+
+            Map<String, Object> op = new LinkedHashMap<>();
+            op.put("count", count);
+            op.put("errors", s.errors.sum());
+            op.put("errorRate", errorRate);
+            op.put("throughput", throughput);
+            op.put("p50Ms", millis(h, 50));
+            op.put("p90Ms", millis(h, 90));
+            op.put("p99Ms", millis(h, 99));
+            op.put("p999Ms", millis(h, 99.9));
+            op.put("maxMs", h.getMaxValue() / 1000.0);
+            operations.put(e.getKey(), op);
+
+            System.out.printf("%-8s %8d %9.1f %7.2f %9.1f %9.1f %9.1f %9.1f %9.1f%n", e.getKey(), count, throughput,
+                errorRate * 100, op.get("p50Ms"), op.get("p90Ms"), op.get("p99Ms"), op.get("p999Ms"), op.get("maxMs"));
+            try (PrintStream hgrm = new PrintStream(out.resolve(e.getKey() + ".hgrm").toFile(), StandardCharsets.UTF_8)) {
+                h.outputPercentileDistribution(hgrm, 1000.0);
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("durationSeconds", duration.toSeconds());
+        report.put("throughput", total / (double) duration.toSeconds());
+        report.put("operations", operations);
+        return report;
+    }
+
+    private static double millis(Histogram h, double percentile) {
+        return h.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> violations(Map<String, Object> report, double maxErrorRate) {
+        List<String> violations = new ArrayList<>();
+        Map<String, Map<String, Object>> operations = (Map<String, Map<String, Object>>) report.get("operations");
+        operations.forEach((name, op) -> {
+            if ((long) op.get("count") == 0) {
+                violations.add(name + ": no requests completed");
+                return;
+            }
+            double errorRate = (double) op.get("errorRate");
+            if (errorRate > maxErrorRate) {
+                violations.add("%s: error rate %.2f%% above %.2f%%".formatted(name, errorRate * 100, maxErrorRate * 100));
+            }
+            String limit = System.getProperty("loadtest.max-p99-ms." + name);
+            double p99 = (double) op.get("p99Ms");
+            if (limit != null && p99 > Double.parseDouble(limit)) {
+                violations.add("%s: p99 %.1f ms above %s ms".formatted(name, p99, limit));
+            }
+        });
+        String minThroughput = System.getProperty("loadtest.min-throughput");
+        double throughput = (double) report.get("throughput");
+        if (minThroughput != null && throughput < Double.parseDouble(minThroughput)) {
+            violations.add("throughput %.1f req/s below %s req/s".formatted(throughput, minThroughput));
+        }
+        return violations;
+    }
+
+    /** Forks the API on this JVM's classpath, pointed at the stubs. */
+    private static Process startApp(String stubs, int port, Path workDir, Path log) throws IOException {
+        List<String> command = new ArrayList<>(List.of(
+            Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+            "--add-modules", "jdk.incubator.vector",
+            "-Dspring.devtools.restart.enabled=false"));
+        command.addAll(split(System.getProperty("loadtest.app-jvm-args", "-Xmx1g")));
+        command.addAll(List.of(
+            "-cp", System.getProperty("java.class.path"),
+            "com.vectormind.api.ApiApplication",
+            "--server.port=" + port,
+            "--management.server.port=" + freePort(),
+            "--server.address=127.0.0.1",
+            "--spring.devtools.livereload.enabled=false",
+            "--weaviate.url=" + stubs + "/weaviate",
+            "--embedding.service.enabled=true",
+            "--embedding.service.url=" + stubs + "/embedder",
+            "--openai.api.key=loadtest",
+            "--openai.api.url=" + stubs + "/openai/v1/chat/completions",
+            "--clerk.issuer-uri=" + stubs + ISSUER_PATH,
+            "--chunk-gc.enabled=false"));
+        command.addAll(split(System.getProperty("loadtest.app-args", "")));
+        return new ProcessBuilder(command)
+            .directory(workDir.toFile())
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile())
+            .start();
+    }
+
+    private static void awaitReady(Process app, String baseUrl, Duration timeout) throws Exception {
+        HttpClient http = HttpClient.newHttpClient();
+        HttpRequest health = HttpRequest.newBuilder(URI.create(baseUrl + "/health"))
+            .timeout(Duration.ofSeconds(5)).build();
+        Instant deadline = Instant.now().plus(timeout);
+        while (Instant.now().isBefore(deadline)) {
+            if (!app.isAlive()) {
+                throw new IllegalStateException("API exited with status " + app.exitValue() + " during startup");
+            }
+            try {
+                // any answer means the server is up; a DOWN dependency is not this test's concern
+                http.send(health, HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch (IOException e) {
+                Thread.sleep(500);
+            }
+        }
+        throw new IllegalStateException("API not ready after " + timeout.toSeconds() + " s");
+    }
+
+    private static String token(RSAKey key, String issuer, String subject) throws JOSEException {
+        Instant now = Instant.now();
+        SignedJWT jwt = new SignedJWT(
+            new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(),
+            new JWTClaimsSet.Builder()
+                .issuer(issuer)
+                .subject(subject)
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(Duration.ofHours(12))))
+                .build());
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static List<String> split(String args) {
+        return args.isBlank() ? List.of() : List.of(args.trim().split("\\s+"));
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.vectormind.api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Stand-ins for everything the API calls out to, on one local port: Weaviate
+ * under /weaviate, the embedder under /embedder, OpenAI chat completions
+ * under /openai and Clerk's JWKS under /clerk. Each stub answers with a
+ * canned response shaped like the real one, after an injected latency. It
+ * fails a configurable share of requests with a 503. Settings come from
+ * system properties: stub.{name}.latency-ms, stub.{name}.jitter-ms and
+ * stub.{name}.error-rate.
+ */
+final class StubServers implements AutoCloseable {
+
+    /** Injected latency and failures for one stub. */
+    record Fault(long latencyMs, long jitterMs, double errorRate) {
+
+        static Fault of(String name, long latencyMs) {
+            return new Fault(
+                Long.getLong("stub." + name + ".latency-ms", latencyMs),
+                Long.getLong("stub." + name + ".jitter-ms", latencyMs / 2),
+                Double.parseDouble(System.getProperty("stub." + name + ".error-rate", "0")));
+        }
+
+        /** Sleeps for the latency; true when this request should fail. */
+        boolean apply() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long delay = latencyMs + (jitterMs > 0 ? random.nextLong(jitterMs + 1) : 0);
+            if (delay > 0) {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return random.nextDouble() < errorRate;
+        }
+    }
+
+    private static final String[] WORDS = {
+        "revenue", "contract", "clause", "quarterly", "report", "liability", "section",
+        "payment", "term", "party", "agreement", "notice", "invoice", "renewal"
+    };
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService workers = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "stub");
+        t.setDaemon(true);
+        return t;
+    });
+    private final int dimensions;
+    private final String jwks;
+
+    StubServers(int dimensions, String jwks) throws IOException {
+        this.dimensions = dimensions;
+        this.jwks = jwks;
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(workers);
+        server.createContext("/weaviate", faulty(Fault.of("weaviate", 15), this::weaviate));
+        server.createContext("/embedder", faulty(Fault.of("embedder", 10), this::embedder));
+        server.createContext("/openai", faulty(Fault.of("openai", 300), this::openAi));
+        server.createContext("/clerk", faulty(Fault.of("jwks", 0), this::jwks));
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        workers.shutdownNow();
+    }
+
+    private interface Handler {
+        Object handle(HttpExchange exchange, byte[] body) throws IOException;
+    }
+
+    private HttpHandler faulty(Fault fault, Handler handler) {
+        return exchange -> {
+            try (exchange) {
+                byte[] body = exchange.getRequestBody().readAllBytes();
+                if (fault.apply()) {
+                    send(exchange, 503, Map.of("error", "injected failure"));
+                    return;
+                }
+                Object response = handler.handle(exchange, body);
+                if (response == null) {
+                    send(exchange, 404, Map.of("error", "no stub for " + exchange.getRequestURI()));
+                } else {
+                    send(exchange, 200, response);
+                }
+            }
+        };
+    }
+
+    private void send(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = body instanceof String s ? s.getBytes(StandardCharsets.UTF_8) : mapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private Object weaviate(HttpExchange exchange, byte[] body) throws IOException {
+        String path = exchange.getRequestURI().getPath().substring("/weaviate".length());
+        String method = exchange.getRequestMethod();
+        return switch (path) {
+            case "/v1/graphql" -> graphql(mapper.readTree(body).path("query").asText());
+            case "/v1/batch/objects" -> method.equals("DELETE")
+                ? Map.of("results", Map.of("matches", 0, "successful", 0, "failed", 0, "limit", 10000))
+                : List.of();
+            case "/v1/objects" -> method.equals("GET") ? Map.of("objects", List.of()) : Map.of();
+            default -> null;
+        };
+    }
+
+    private Object graphql(String query) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (query.contains("Document(")) {
+            List<Map<String, Object>> documents = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                documents.add(Map.of(
+                    "_additional", Map.of("id", UUID.randomUUID().toString()),
+                    "title", "document-" + i + ".pdf", "processed", true, "pages", 1 + random.nextInt(40),
+                    "workspace", "default", "source", "upload", "userId", "loadtest"));
+            }
+            return Map.of("data", Map.of("Get", Map.of("Document", documents)));
+        }
+        List<Map<String, Object>> chunks = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            chunks.add(Map.of(
+                "text", words(random, 300), "page", i + 1, "docId", "doc-" + random.nextInt(20),
+                "userId", "loadtest", "_additional", Map.of("certainty", 0.95 - i * 0.02)));
+        }
+        return Map.of("data", Map.of("Get", Map.of("Chunk", chunks)));
+    }
+
+    private Object embedder(HttpExchange exchange, byte[] body) throws IOException {
+        if (!exchange.getRequestURI().getPath().endsWith("/embed")) return null;
+        JsonNode texts = mapper.readTree(body).path("texts");
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<float[]> embeddings = new ArrayList<>(texts.size());
+        for (int i = 0; i < texts.size(); i++) {
+            float[] v = new float[dimensions];
+            for (int d = 0; d < dimensions; d++) v[d] = random.nextFloat();
+            embeddings.add(v);
+        }
+        return Map.of("embeddings", embeddings);
+    }
+
+    private Object openAi(HttpExchange exchange, byte[] body) throws IOException {
+        if (!exchange.getRequestURI().getPath().endsWith("/chat/completions")) return null;
+        int promptTokens = body.length / 4;
+        return Map.of(
+            "choices", List.of(Map.of("message", Map.of("role", "assistant",
+                "content", words(ThreadLocalRandom.current(), 120)))),
+            "usage", Map.of("prompt_tokens", promptTokens, "completion_tokens", 160));
+    }
+
+    private Object jwks(HttpExchange exchange, byte[] body) {
+        return exchange.getRequestURI().getPath().endsWith("/.well-known/jwks.json") ? jwks : null;
+    }
+
+    static String words(Random random, int count) {
+        StringBuilder sb = new StringBuilder(count * 9);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+}
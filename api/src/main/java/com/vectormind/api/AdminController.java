@@ -1,71 +1,125 @@
 package com.vectormind.api;
 
-import com.vectormind.api.config.WeaviateConfig;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
+import com.vectormind.api.weaviate.StoredChunk;
+import com.vectormind.api.weaviate.StoredDocument;
+import com.vectormind.api.weaviate.WeaviateClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestTemplate;
 
-import java.nio.file.*;
+import java.util.*;
 
 @RestController
 @RequestMapping("/api/admin")
 public class AdminController {
 
-    private final Path uploadDir = Paths.get("uploads");
-    private final RestTemplate restTemplate;
-    private final WeaviateConfig weaviateConfig;
-    
-    @Value("${weaviate.api-key:}")
-    private String weaviateApiKey;
+    private static final Logger log = LoggerFactory.getLogger(AdminController.class);
 
-    public AdminController(RestTemplate restTemplate, WeaviateConfig weaviateConfig) {
-        this.restTemplate = restTemplate;
-        this.weaviateConfig = weaviateConfig;
+    /** Failed chunks listed individually in a backfill report; the rest are only counted. */
+    private static final int MAX_REPORTED_FAILURES = 20;
+
+    private final DocumentDeletionService deletions;
+    private final OrphanChunkCollector orphanChunks;
+    private final WeaviateClient weaviate;
+
+    public AdminController(DocumentDeletionService deletions, OrphanChunkCollector orphanChunks,
+                           WeaviateClient weaviate) {
+        this.deletions = deletions;
+        this.orphanChunks = orphanChunks;
+        this.weaviate = weaviate;
     }
 
     @DeleteMapping("/purge")
     public ResponseEntity<String> purge() {
         try {
-            /* delete files */
-            if (Files.exists(uploadDir))
-                Files.walk(uploadDir)
-                     .filter(Files::isRegularFile)
-                     .forEach(p -> p.toFile().delete());
-
-            /* delete objects from Weaviate */
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            if (weaviateApiKey != null && !weaviateApiKey.isEmpty()) {
-                headers.set("Authorization", "Bearer " + weaviateApiKey);
-            }
-            
-            String weaviateUrl = weaviateConfig.getWeaviateUrl();
-            
-            // Delete all objects from Chunk class
-            restTemplate.exchange(
-                weaviateUrl + "/v1/objects?class=Chunk",
-                HttpMethod.DELETE,
-                new HttpEntity<>(headers),
-                String.class
-            );
-            
-            // Delete all objects from Document class  
-            restTemplate.exchange(
-                weaviateUrl + "/v1/objects?class=Document",
-                HttpMethod.DELETE,
-                new HttpEntity<>(headers),
-                String.class
-            );
-
+            Map<String, Object> removed = deletions.purgeAll();
+            log.info("Purged {}", removed);
             return ResponseEntity.ok("purged");
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Purge failed", e);
             return ResponseEntity.status(500).body("purge failed: "+e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /** The last orphan-chunk sweep, scheduled or manual. */
+    @GetMapping("/chunk-gc")
+    public ResponseEntity<?> chunkGcReport() {
+        return orphanChunks.lastReport()
+            .<ResponseEntity<?>>map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    /** Runs an orphan-chunk sweep now and returns its report. */
+    @PostMapping("/chunk-gc")
+    public ResponseEntity<?> chunkGc() {
+        return orphanChunks.sweep()
+            .<ResponseEntity<?>>map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.status(409).body("a sweep is already running"));
+    }
+
+    /**
+     * Copies each Document's workspace onto its chunks that were ingested
+     * before chunks carried one, so workspace-scoped searches find them.
+     * Each chunk is patched through WeaviateClient, so the writes share its
+     * breaker, bulkhead and adaptive write limit. Chunks that could not be
+     * patched are counted and the first few reported with their error.
+     * The in-process indexes pick the new values up on their next load.
+     */
+    @PostMapping("/backfill-workspaces")
+    public ResponseEntity<?> backfillWorkspaces() {
+        Map<String, String> workspaces = new HashMap<>();
+        int updated = 0, failed = 0;
+        List<Map<String, String>> failures = new ArrayList<>();
+        try {
+            String after = null;
+            List<StoredDocument> documents;
+            do {
+                documents = weaviate.listObjects("Document", after, 500, false, StoredDocument.class);
+                for (StoredDocument doc : documents) {
+                    StoredDocument.Properties p = doc.properties();
+                    String ws = p != null ? p.workspace() : null;
+                    workspaces.put(doc.id(), ws != null && !ws.isBlank() ? ws : "default");
+                    after = doc.id();
+                }
+            } while (!documents.isEmpty());
+
+            after = null;
+            List<StoredChunk> chunks;
+            do {
+                chunks = weaviate.listObjects("Chunk", after, 500, false, StoredChunk.class);
+                for (StoredChunk chunk : chunks) {
+                    after = chunk.id();
+                    StoredChunk.Properties p = chunk.properties();
+                    if (p == null || p.workspace() != null) continue;
+                    try {
+                        weaviate.patchObject("Chunk", chunk.id(),
+                            Map.of("workspace", workspaces.getOrDefault(p.docId(), "default")));
+                        updated++;
+                    } catch (RuntimeException e) {
+                        failed++;
+                        if (failures.size() < MAX_REPORTED_FAILURES) {
+                            failures.add(Map.of("id", chunk.id(), "error", String.valueOf(e.getMessage())));
+                        }
+                    }
+                }
+            } while (!chunks.isEmpty());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(503).body("backfill interrupted after " + updated + " chunks");
+        } catch (Exception e) {
+            log.error("Workspace backfill failed after {} chunks", updated, e);
+            return ResponseEntity.status(500).body("backfill failed: " + e.getMessage());
+        }
+
+        if (failed > 0) {
+            log.warn("Workspace backfill could not patch {} of {} chunks", failed, updated + failed);
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("documents", workspaces.size());
+        report.put("chunksUpdated", updated);
+        report.put("chunksFailed", failed);
+        report.put("failures", failures);
+        return failed == 0 ? ResponseEntity.ok(report) : ResponseEntity.status(502).body(report);
+    }
+}
@@ -0,0 +1,187 @@
+package com.vectormind.api;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Second cache tier: document bytes spilled to a local directory, bounded by
+ * total bytes on disk and evicted least-recently-used first. {@link #open}
+ * hands out a channel on the file, so a hit can be streamed without the
+ * document ever being held on the heap; {@link #get} reads it whole for
+ * callers that need the bytes.
+ */
+public class DiskDocumentCache {
+
+    private static final Logger log = LoggerFactory.getLogger(DiskDocumentCache.class);
+    private static final String SUFFIX = ".bin";
+
+    private final Path dir;
+    private final long maxBytes;
+
+    /** file name → size in bytes, in access order (eldest first). */
+    private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    public DiskDocumentCache(Path dir, long maxBytes) {
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create document cache dir " + dir, e);
+        }
+        rebuildIndex();
+    }
+
+    /**
+     * Opens the cached file for reading, or returns null when the key is not
+     * on disk. The caller closes the channel; an open channel keeps reading
+     * the file even if it is evicted meanwhile.
+     */
+    public FileChannel open(String key) {
+        String name = fileName(key);
+        synchronized (this) {
+            if (index.get(name) == null) return null;
+        }
+        try {
+            return FileChannel.open(dir.resolve(name), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            forget(name);
+            return null;
+        } catch (IOException e) {
+            log.warn("Failed to open cached document {}", name, e);
+            return null;
+        }
+    }
+
+    /** Returns the cached bytes, or null when the key is not on disk. */
+    public byte[] get(String key) {
+        String name = fileName(key);
+        synchronized (this) {
+            if (index.get(name) == null) return null;
+        }
+        try {
+            return Files.readAllBytes(dir.resolve(name));
+        } catch (NoSuchFileException e) {
+            forget(name);
+            return null;
+        } catch (IOException e) {
+            log.warn("Failed to read cached document {}", name, e);
+            return null;
+        }
+    }
+
+    public boolean contains(String key) {
+        synchronized (this) {
+            return index.containsKey(fileName(key));
+        }
+    }
+
+    /** Writes the bytes to disk, evicting older entries to stay within budget. */
+    public void put(String key, byte[] content) {
+        if (content == null || content.length > maxBytes) return;
+        String name = fileName(key);
+        synchronized (this) {
+            if (index.get(name) != null) return;
+        }
+        Path target = dir.resolve(name);
+        try {
+            Path tmp = Files.createTempFile(dir, "spill", ".tmp");
+            Files.write(tmp, content);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to spill document {} to disk", name, e);
+            return;
+        }
+        synchronized (this) {
+            Long previous = index.put(name, (long) content.length);
+            totalBytes += content.length - (previous != null ? previous : 0L);
+            evictToBudget();
+        }
+    }
+
+    public void invalidate(String key) {
+        String name = fileName(key);
+        forget(name);
+        try {
+            Files.deleteIfExists(dir.resolve(name));
+        } catch (IOException e) {
+            log.warn("Failed to delete cached document {}", name, e);
+        }
+    }
+
+    /** Drops every cached document. */
+    public void clear() {
+        List<String> names;
+        synchronized (this) {
+            names = new ArrayList<>(index.keySet());
+            index.clear();
+            totalBytes = 0;
+        }
+        for (String name : names) {
+            try {
+                Files.deleteIfExists(dir.resolve(name));
+            } catch (IOException e) {
+                log.warn("Failed to delete cached document {}", name, e);
+            }
+        }
+    }
+
+    public synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    private synchronized void forget(String name) {
+        Long size = index.remove(name);
+        if (size != null) totalBytes -= size;
+    }
+
+    private void evictToBudget() {
+        Iterator<Map.Entry<String, Long>> it = index.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            it.remove();
+            totalBytes -= eldest.getValue();
+            try {
+                Files.deleteIfExists(dir.resolve(eldest.getKey()));
+            } catch (IOException e) {
+                log.warn("Failed to evict cached document {}", eldest.getKey(), e);
+            }
+        }
+    }
+
+    /** Picks up files left by a previous run, oldest first, so LRU order survives restarts. */
+    private synchronized void rebuildIndex() {
+        try (Stream<Path> files = Files.list(dir)) {
+            files.filter(p -> p.getFileName().toString().endsWith(SUFFIX))
+                 .sorted(Comparator.comparing(p -> p.toFile().lastModified()))
+                 .forEach(p -> {
+                     long size = p.toFile().length();
+                     index.put(p.getFileName().toString(), size);
+                     totalBytes += size;
+                 });
+            evictToBudget();
+        } catch (IOException e) {
+            log.warn("Failed to scan document cache dir {}", dir, e);
+        }
+    }
+
+    private static String fileName(String key) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash) + SUFFIX;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,46 +1,198 @@
 package com.vectormind.api;
 
-import com.github.benmanes.caffeine.cache.Cache;
+import com.vectormind.api.config.ContextExecutors;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+/**
+ * Two-tier document byte cache: a heap tier bounded by total bytes, spilling
+ * size-evicted entries to a disk tier with its own byte budget. Entries are
+ * keyed by user and document, loaded once per key however many callers ask
+ * concurrently, and misses are remembered briefly so absent documents do not
+ * hit Drive on every request. {@link #openDocument} streams disk-tier hits
+ * from their file instead of copying them back onto the heap.
+ */
 @Service
-public class DocumentCacheService {
+public class DocumentCacheService implements MeterBinder {
 
-    private final Cache<String, byte[]> documentCache;
+    private static final Logger log = LoggerFactory.getLogger(DocumentCacheService.class);
+
+    /** Cache key; documents are only ever served back to the user that owns them. */
+    public record DocumentKey(String userId, String docId) {
+        @Override
+        public String toString() {
+            return userId + "/" + docId;
+        }
+    }
+
+    private final AsyncLoadingCache<DocumentKey, Optional<byte[]>> documentCache;
+    private final DiskDocumentCache diskCache;
+    private final ExecutorService loader;
+    private final Path uploadDir = Paths.get("uploads");
     private final DocumentReferenceRepository referenceRepo;
     private final DriveSyncService driveSyncService;
 
     public DocumentCacheService(DocumentReferenceRepository referenceRepo,
-                                DriveSyncService driveSyncService) {
+                                DriveSyncService driveSyncService,
+                                @Value("${cache.document.ttl:3600}") long ttlSeconds,
+                                @Value("${cache.document.negative-ttl:30}") long negativeTtlSeconds,
+                                @Value("${cache.document.refresh:900}") long refreshSeconds,
+                                @Value("${cache.document.heap-max-bytes:268435456}") long heapMaxBytes,
+                                @Value("${cache.document.heap-max-entry-bytes:33554432}") long heapMaxEntryBytes,
+                                @Value("${cache.document.disk-max-bytes:2147483648}") long diskMaxBytes,
+                                @Value("${cache.document.dir:cache/documents}") String diskDir,
+                                @Value("${cache.document.loader-threads:8}") int loaderThreads) {
         this.referenceRepo      = referenceRepo;
         this.driveSyncService   = driveSyncService;
-        this.documentCache      = Caffeine.newBuilder()
-            .expireAfterAccess(Duration.ofHours(1))
-            .maximumSize(1000)
-            .build();
+        this.diskCache          = new DiskDocumentCache(Paths.get(diskDir), diskMaxBytes);
+        this.loader             = ContextExecutors.propagating(Executors.newFixedThreadPool(loaderThreads, r -> {
+            Thread t = new Thread(r, "document-cache-loader");
+            t.setDaemon(true);
+            return t;
+        }));
+
+        long entryLimit = Math.min(heapMaxEntryBytes, heapMaxBytes);
+        Duration ttl         = Duration.ofSeconds(ttlSeconds);
+        Duration negativeTtl = Duration.ofSeconds(negativeTtlSeconds);
+
+        this.documentCache = Caffeine.newBuilder()
+            .executor(loader)
+            .maximumWeight(heapMaxBytes)
+            // Oversized documents weigh more than the whole tier, so they are
+            // evicted (and spilled to disk) as soon as they are admitted.
+            .weigher((DocumentKey key, Optional<byte[]> content) -> content
+                .map(bytes -> bytes.length > entryLimit ? Integer.MAX_VALUE : bytes.length)
+                .orElse(0))
+            .expireAfter(new Expiry<DocumentKey, Optional<byte[]>>() {
+                @Override
+                public long expireAfterCreate(DocumentKey key, Optional<byte[]> content, long now) {
+                    return (content.isPresent() ? ttl : negativeTtl).toNanos();
+                }
+
+                @Override
+                public long expireAfterUpdate(DocumentKey key, Optional<byte[]> content, long now, long current) {
+                    return expireAfterCreate(key, content, now);
+                }
+
+                @Override
+                public long expireAfterRead(DocumentKey key, Optional<byte[]> content, long now, long current) {
+                    return content.isPresent() ? ttl.toNanos() : current;
+                }
+            })
+            .refreshAfterWrite(Duration.ofSeconds(refreshSeconds))
+            .recordStats()
+            .removalListener((DocumentKey key, Optional<byte[]> content, RemovalCause cause) -> {
+                if (cause == RemovalCause.SIZE && key != null && content != null) {
+                    content.ifPresent(bytes -> diskCache.put(key.toString(), bytes));
+                }
+            })
+            .buildAsync(this::load);
+    }
+
+    /** Hit, miss, load and eviction counts as cache.* meters tagged cache=documents. */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, documentCache, "documents");
     }
 
-    /** Fetches from cache or loads via DriveSyncService.downloadFileContent(...) */
+    /** Fetches from heap, then disk, then the document's source; null when it cannot be found. */
     public byte[] getDocument(String docId, String userId) {
-        return documentCache.get(docId, id -> {
-            byte[] content = driveSyncService.downloadFileContent(id, userId);
-            updateAccessMetrics(id);
-            return content;
-        });
+        return getDocumentAsync(docId, userId).join();
+    }
+
+    public CompletableFuture<byte[]> getDocumentAsync(String docId, String userId) {
+        return documentCache.get(new DocumentKey(userId, docId))
+                            .thenApply(content -> content.orElse(null));
+    }
+
+    /**
+     * The document as a channel to stream from; null when it cannot be found.
+     * A disk-tier hit is read straight from its file and is not brought back
+     * onto the heap, so large documents cost no heap to serve. Otherwise this
+     * goes through {@link #getDocument}. The caller closes the channel.
+     */
+    public ReadableByteChannel openDocument(String docId, String userId) {
+        DocumentKey key = new DocumentKey(userId, docId);
+        CompletableFuture<Optional<byte[]>> inHeap = documentCache.getIfPresent(key);
+        if (inHeap == null) {
+            FileChannel spilled = diskCache.open(key.toString());
+            if (spilled != null) return spilled;
+        }
+        byte[] content = inHeap != null ? inHeap.join().orElse(null) : getDocument(docId, userId);
+        return content != null ? Channels.newChannel(new ByteArrayInputStream(content)) : null;
+    }
+
+    private Optional<byte[]> load(DocumentKey key) {
+        byte[] content = diskCache.get(key.toString());
+        if (content != null) return Optional.of(content);
+
+        Optional<DocumentReference> ref = referenceRepo.findByDocIdAndUserId(key.docId(), key.userId());
+        if (ref.isEmpty()) return Optional.empty();
+
+        content = ref.get().getGoogleDriveId() != null
+            ? driveSyncService.downloadFileContent(ref.get().getGoogleDriveId(), key.userId())
+            : readUpload(key.docId());
+        if (content == null) return Optional.empty();
+
+        updateAccessMetrics(ref.get());
+        return Optional.of(content);
+    }
+
+    private byte[] readUpload(String docId) {
+        Path path = uploadDir.resolve(docId + ".pdf");
+        if (!Files.exists(path)) return null;
+        try {
+            return Files.readAllBytes(path);
+        } catch (IOException e) {
+            log.warn("Failed to read uploaded document {}", docId, e);
+            return null;
+        }
+    }
+
+    private void updateAccessMetrics(DocumentReference ref) {
+        ref.setLastAccessed(Instant.now());
+        ref.setAccessCount(ref.getAccessCount() + 1);
+        referenceRepo.save(ref);
+    }
+
+    public void evictDocument(String docId, String userId) {
+        DocumentKey key = new DocumentKey(userId, docId);
+        documentCache.synchronous().invalidate(key);
+        diskCache.invalidate(key.toString());
     }
 
-    private void updateAccessMetrics(String docId) {
-        referenceRepo.findById(docId).ifPresent(ref -> {
-            ref.setLastAccessed(java.time.Instant.now());
-            ref.setAccessCount(ref.getAccessCount() + 1);
-            referenceRepo.save(ref);
-        });
+    public void clear() {
+        documentCache.synchronous().invalidateAll();
+        diskCache.clear();
     }
 
-    public void evictDocument(String docId) {
-        documentCache.invalidate(docId);
+    @PreDestroy
+    void shutdown() {
+        loader.shutdownNow();
     }
 }
@@ -5,12 +5,12 @@ import org.springframework.http.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.ResourceAccessException;
 
-import com.vectormind.api.config.WeaviateConfig;
+import com.vectormind.api.weaviate.DocumentSummary;
+import com.vectormind.api.weaviate.WeaviateClient;
 
 import java.util.*;
 import java.util.logging.Logger;
@@ -22,13 +22,13 @@ public class DocumentController {
 
   private static final Logger logger = Logger.getLogger(DocumentController.class.getName());
   
-  private final RestTemplate rest;
-  private final WeaviateConfig weaviateConfig;
+  private final WeaviateClient weaviate;
+  private final DocumentDeletionService deletions;
 
   @Autowired
-  public DocumentController(RestTemplate rest, WeaviateConfig weaviateConfig) {
-    this.rest = rest;
-    this.weaviateConfig = weaviateConfig;
+  public DocumentController(WeaviateClient weaviate, DocumentDeletionService deletions) {
+    this.weaviate = weaviate;
+    this.deletions = deletions;
   }
 
   @GetMapping("/documents")
@@ -45,14 +45,11 @@ public class DocumentController {
       // 2) Build the GraphQL query with proper escaping
       String gql = buildDocumentQuery(userId);
 
-      // 3) Prepare headers
-      HttpHeaders headers = createWeaviateHeaders();
-
-      // 4) Execute the request with error handling
+      // 3) Execute the request with error handling
       Map<String, Object> requestBody = Map.of("query", gql);
-      List<Map<String, Object>> docs = executeWeaviateQuery(requestBody, headers);
+      List<DocumentSummary> docs = executeWeaviateQuery(requestBody);
 
-      // 5) Return successful response
+      // 4) Return successful response
       Map<String, Object> response = Map.of(
           "success", true,
           "data", docs,
@@ -83,10 +80,9 @@ public class DocumentController {
 
       // Query for specific document with user verification
       String gql = buildSingleDocumentQuery(documentId, userId);
-      HttpHeaders headers = createWeaviateHeaders();
       Map<String, Object> requestBody = Map.of("query", gql);
       
-      List<Map<String, Object>> docs = executeWeaviateQuery(requestBody, headers);
+      List<DocumentSummary> docs = executeWeaviateQuery(requestBody);
       
       if (docs.isEmpty()) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -119,25 +115,21 @@ public class DocumentController {
             .body(createErrorResponse("Unauthorized", "Valid authentication required"));
       }
 
-      // First verify the document belongs to the user
-      ResponseEntity<Map<String, Object>> getResponse = getDocument(documentId, auth);
-      if (getResponse.getStatusCode() != HttpStatus.OK) {
-        return getResponse; // Return the error response from getDocument
+      // Chunks, Document object, file, reference row and caches; the userId
+      // in every filter doubles as the ownership check
+      DocumentDeletionService.Deletion deletion = deletions.delete(userId, documentId);
+      if (!deletion.found()) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+            .body(createErrorResponse("Not Found", "Document not found or access denied"));
       }
 
-      // Delete the document
-      String deleteMutation = buildDeleteMutation(documentId);
-      HttpHeaders headers = createWeaviateHeaders();
-      Map<String, Object> requestBody = Map.of("query", deleteMutation);
-      
-      executeWeaviateQuery(requestBody, headers);
-
       Map<String, Object> response = Map.of(
           "success", true,
-          "message", "Document deleted successfully"
+          "message", "Document deleted successfully",
+          "chunksDeleted", deletion.chunks()
       );
 
-      logger.info(String.format("Document %s deleted by user %s", documentId, userId));
+      logger.info(String.format("Document %s deleted by user %s (%d chunks)", documentId, userId, deletion.chunks()));
       return ResponseEntity.ok(response);
 
     } catch (Exception e) {
@@ -218,81 +210,10 @@ public class DocumentController {
         """, escapeGraphQLString(userId), escapeGraphQLString(documentId));
   }
 
-  private String buildDeleteMutation(String documentId) {
-    return String.format("""
-        mutation {
-          Delete(
-            class: "Document",
-            where: {
-              path: ["_additional", "id"],
-              operator: Equal,
-              valueText: "%s"
-            }
-          ) {
-            successful
-            objects {
-              id
-            }
-          }
-        }
-        """, escapeGraphQLString(documentId));
-  }
-
-  private HttpHeaders createWeaviateHeaders() {
-    HttpHeaders headers = new HttpHeaders();
-    headers.setContentType(MediaType.APPLICATION_JSON);
-    
-    String weavKey = System.getenv("WEAVIATE_API_KEY");
-    if (weavKey != null && !weavKey.isBlank()) {
-      headers.set("X-API-KEY", weavKey);
-    }
-    
-    return headers;
-  }
-
-  private List<Map<String, Object>> executeWeaviateQuery(
-      Map<String, Object> requestBody, 
-      HttpHeaders headers) throws Exception {
-    
+  private List<DocumentSummary> executeWeaviateQuery(Map<String, Object> requestBody) throws Exception {
     try {
-      @SuppressWarnings("unchecked")
-      Map<?, ?> response = rest.postForObject(
-          weaviateConfig.getGraphQLEndpoint(),
-          new HttpEntity<>(requestBody, headers),
-          Map.class
-      );
-
-      // Check for GraphQL errors
-      if (response != null && response.containsKey("errors")) {
-        @SuppressWarnings("unchecked")
-        List<Map<String, Object>> errors = (List<Map<String, Object>>) response.get("errors");
-        String errorMessage = errors.stream()
-            .map(error -> error.get("message"))
-            .map(Object::toString)
-            .reduce("", (a, b) -> a + "; " + b);
-        throw new RuntimeException("GraphQL errors: " + errorMessage);
-      }
-
-      if (response == null) {
-        throw new RuntimeException("Null response from Weaviate");
-      }
-
-      @SuppressWarnings("unchecked")
-      Map<?, ?> data = (Map<?, ?>) response.get("data");
-      if (data == null) {
-        return List.of();
-      }
-
-      @SuppressWarnings("unchecked")
-      Map<?, ?> get = (Map<?, ?>) data.get("Get");
-      if (get == null) {
-        return List.of();
-      }
-
-      @SuppressWarnings("unchecked")
-      List<Map<String, Object>> documents = (List<Map<String, Object>>) get.get("Document");
-      
-      return documents != null ? documents : List.of();
+      // Decodes data.Get.Document while streaming; GraphQL errors surface as WeaviateQueryException
+      return weaviate.graphql(requestBody, "Get", "Document", DocumentSummary.READER);
 
     } catch (HttpClientErrorException e) {
       logger.log(Level.WARNING, "Client error calling Weaviate: " + e.getStatusCode(), e);
@@ -0,0 +1,165 @@
+package com.vectormind.api;
+
+import com.vectormind.api.config.ContextExecutors;
+import com.vectormind.api.controller.ContentTagCache;
+import com.vectormind.api.keyword.KeywordIndex;
+import com.vectormind.api.vector.DocumentVectorCache;
+import com.vectormind.api.vector.LocalVectorIndex;
+import com.vectormind.api.weaviate.BatchDeleteResult;
+import com.vectormind.api.weaviate.WeaviateClient;
+import com.vectormind.api.weaviate.WhereFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Removes documents everywhere they live: Chunk and Document objects in
+ * Weaviate (one filtered batch delete per class), the stored PDF, the
+ * DocumentReference row and every in-process cache keyed by the document.
+ */
+@Service
+public class DocumentDeletionService {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentDeletionService.class);
+
+    /** What a single-document delete found and removed. */
+    public record Deletion(boolean found, long chunks, boolean file) {}
+
+    private final Path uploadDir;
+    private final WeaviateClient weaviate;
+    private final DocumentReferenceRepository references;
+    private final DocumentCacheService documentCache;
+    private final ContentTagCache contentTags;
+    private final LocalVectorIndex localIndex;
+    private final DocumentVectorCache documentVectors;
+    private final KeywordIndex keywordIndex;
+    private final ExecutorService purgeWorkers = ContextExecutors.propagating(Executors.newFixedThreadPool(4, r -> {
+        Thread t = new Thread(r, "document-purge");
+        t.setDaemon(true);
+        return t;
+    }));
+
+    @Autowired
+    public DocumentDeletionService(WeaviateClient weaviate,
+                                   DocumentReferenceRepository references,
+                                   DocumentCacheService documentCache,
+                                   ContentTagCache contentTags,
+                                   LocalVectorIndex localIndex,
+                                   DocumentVectorCache documentVectors,
+                                   KeywordIndex keywordIndex) {
+        this(weaviate, references, documentCache, contentTags, localIndex, documentVectors, keywordIndex,
+             Paths.get("uploads"));
+    }
+
+    DocumentDeletionService(WeaviateClient weaviate,
+                            DocumentReferenceRepository references,
+                            DocumentCacheService documentCache,
+                            ContentTagCache contentTags,
+                            LocalVectorIndex localIndex,
+                            DocumentVectorCache documentVectors,
+                            KeywordIndex keywordIndex,
+                            Path uploadDir) {
+        this.uploadDir = uploadDir;
+        this.weaviate = weaviate;
+        this.references = references;
+        this.documentCache = documentCache;
+        this.contentTags = contentTags;
+        this.localIndex = localIndex;
+        this.documentVectors = documentVectors;
+        this.keywordIndex = keywordIndex;
+    }
+
+    /**
+     * Deletes one of the user's documents. Every Weaviate filter includes the
+     * userId, so nothing belonging to someone else matches and no ownership
+     * lookup is needed first. Not found means nothing matched anywhere.
+     */
+    public Deletion delete(String userId, String docId) throws IOException {
+        Map<String, Object> owner = WhereFilter.equal("userId", userId);
+        BatchDeleteResult chunks = weaviate.deleteWhere("Chunk",
+            WhereFilter.and(List.of(owner, WhereFilter.equal("docId", docId))));
+        BatchDeleteResult document = weaviate.deleteWhere("Document",
+            WhereFilter.and(List.of(owner, WhereFilter.equal("id", docId))));
+
+        boolean referenced = references.findByDocIdAndUserId(docId, userId).isPresent();
+        boolean found = referenced || document.successful() > 0 || chunks.successful() > 0;
+        if (!found) {
+            return new Deletion(false, 0, false);
+        }
+
+        Path file = uploadDir.resolve(docId + ".pdf");
+        boolean fileDeleted = Files.deleteIfExists(file);
+        if (referenced) {
+            references.deleteById(docId);
+        }
+
+        contentTags.invalidate(file);
+        documentCache.evictDocument(docId, userId);
+        localIndex.removeDocument(userId, docId);
+        documentVectors.evict(userId, docId);
+        keywordIndex.removeDocument(userId, docId);
+
+        if (chunks.failed() > 0) {
+            log.warn("{} of {} chunks of {} could not be deleted", chunks.failed(), chunks.matches(), docId);
+        }
+        return new Deletion(true, chunks.successful(), fileDeleted);
+    }
+
+    /**
+     * Removes every document of every user. Files, the two Weaviate classes
+     * and the reference table are cleared concurrently.
+     */
+    public Map<String, Object> purgeAll() {
+        Map<String, Object> matchAll = WhereFilter.like("id", "*");
+        LongAdder files = new LongAdder();
+
+        CompletableFuture<Void> fileDelete = CompletableFuture.runAsync(() -> {
+            if (!Files.exists(uploadDir)) return;
+            try (Stream<Path> paths = Files.walk(uploadDir)) {
+                paths.filter(Files::isRegularFile).parallel().forEach(p -> {
+                    try {
+                        if (Files.deleteIfExists(p)) files.increment();
+                    } catch (IOException e) {
+                        log.warn("Failed to delete {}", p, e);
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, purgeWorkers);
+        CompletableFuture<BatchDeleteResult> chunks =
+            CompletableFuture.supplyAsync(() -> weaviate.deleteWhere("Chunk", matchAll), purgeWorkers);
+        CompletableFuture<BatchDeleteResult> documents =
+            CompletableFuture.supplyAsync(() -> weaviate.deleteWhere("Document", matchAll), purgeWorkers);
+        CompletableFuture<Void> rows = CompletableFuture.runAsync(references::deleteAllInBatch, purgeWorkers);
+
+        try {
+            CompletableFuture.allOf(fileDelete, chunks, documents, rows).join();
+        } finally {
+            // whatever was removed must not be served from memory
+            contentTags.clear();
+            documentCache.clear();
+            localIndex.clear();
+            documentVectors.clear();
+            keywordIndex.clear();
+        }
+
+        return Map.of(
+            "files", files.sum(),
+            "chunks", chunks.join().successful(),
+            "documents", documents.join().successful()
+        );
+    }
+}
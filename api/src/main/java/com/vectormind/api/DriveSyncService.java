@@ -1,32 +1,38 @@
 package com.vectormind.api;
 
-import com.vectormind.api.config.WeaviateConfig;
+import com.vectormind.api.config.ContextExecutors;
 import com.google.api.client.auth.oauth2.Credential;
 import com.google.api.client.auth.oauth2.ClientParametersAuthentication;
 import com.google.api.client.googleapis.auth.oauth2.GoogleAuthorizationCodeFlow;
 import com.google.api.client.googleapis.auth.oauth2.GoogleTokenResponse;
 import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
+import com.google.api.client.http.javanet.NetHttpTransport;
 import com.google.api.client.json.gson.GsonFactory;
 import com.google.api.services.drive.Drive;
 import com.google.api.services.drive.DriveScopes;
 import com.google.api.services.drive.model.File;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 import com.google.api.client.http.GenericUrl;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 @Service
 public class DriveSyncService {
 
+    private static final Logger log = LoggerFactory.getLogger(DriveSyncService.class);
     private static final String APP = "VectorMind";
     private static final GsonFactory JSON = GsonFactory.getDefaultInstance();
-    private static final int BATCH_SIZE = 10;
 
     @Value("${google.redirect.uri}")
     private String redirectUri;
@@ -38,32 +44,57 @@ public class DriveSyncService {
     private String CLIENT_SECRET;
 
     private final DriveTokenRepository repo;
-    private final RestTemplate rest;
     private final DocumentReferenceRepository docRefRepo;
-    private final WeaviateConfig weaviateConfig;
-    private final String weaviateApiKey;
+    private final IngestionService ingestion;
+    private volatile NetHttpTransport transport;
+
+    /**
+     * Fetches and ingests Drive files. Shared by every sync, so
+     * drive.sync.parallelism bounds the downloads in flight across all users.
+     */
+    private final ExecutorService fetchers;
 
     public DriveSyncService(
         DriveTokenRepository repo,
-        RestTemplate rest,
         DocumentReferenceRepository docRefRepo,
-        WeaviateConfig weaviateConfig,
-        @Value("${weaviate.api-key:}") String weaviateApiKey
+        IngestionService ingestion,
+        @Value("${drive.sync.parallelism:4}") int parallelism
     ) {
         this.repo = repo;
-        this.rest = rest;
         this.docRefRepo = docRefRepo;
-        this.weaviateConfig = weaviateConfig;
-        this.weaviateApiKey = weaviateApiKey;
+        this.ingestion = ingestion;
+        this.fetchers = ContextExecutors.propagating(Executors.newFixedThreadPool(Math.max(1, parallelism), r -> {
+            Thread t = new Thread(r, "drive-sync");
+            t.setDaemon(true);
+            return t;
+        }));
     }
 
     public String getRedirectUri() {
         return redirectUri;
     }
 
+    /**
+     * The HTTP transport shared by every Drive and OAuth call. Building one
+     * loads Google's trust store, so it is created on first use (or by
+     * StartupWarmup in the background) instead of per call or at startup.
+     */
+    public NetHttpTransport transport() throws Exception {
+        NetHttpTransport t = transport;
+        if (t == null) {
+            synchronized (this) {
+                t = transport;
+                if (t == null) {
+                    transport = t = GoogleNetHttpTransport.newTrustedTransport();
+                }
+            }
+        }
+        return t;
+    }
+
     public GoogleAuthorizationCodeFlow flow() throws Exception {
         return new GoogleAuthorizationCodeFlow.Builder(
-            GoogleNetHttpTransport.newTrustedTransport(),
+            transport(),
             JSON,
             CLIENT_ID,
             CLIENT_SECRET,
@@ -92,15 +123,33 @@ public class DriveSyncService {
                     .execute()
                     .getFiles();
 
-                for (int i = 0; i < files.size(); i += BATCH_SIZE) {
-                    List<File> batch = files.subList(i, Math.min(i+BATCH_SIZE, files.size()));
-                    for (File f : batch) {
+                // Files are fetched and ingested side by side; how hard Weaviate gets
+                // written to is up to WeaviateClient's adaptive write limit
+                List<Callable<Void>> tasks = new ArrayList<>(files.size());
+                for (File f : files) {
+                    tasks.add(() -> {
                         processFile(drive, f, userId);
+                        return null;
+                    });
+                }
+                List<Future<Void>> results = fetchers.invokeAll(tasks);
+                int failed = 0;
+                for (int i = 0; i < results.size(); i++) {
+                    try {
+                        results.get(i).get();
+                    } catch (ExecutionException e) {
+                        failed++;
+                        File f = files.get(i);
+                        log.warn("Drive sync for user {} could not ingest {} ({})",
+                                userId, f.getName(), f.getId(), e.getCause());
                     }
-                    Thread.sleep(500);
                 }
+                log.info("Drive sync for user {}: {} of {} files ingested", userId, files.size() - failed, files.size());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Drive sync for user {} interrupted", userId);
             } catch (Exception e) {
-                e.printStackTrace();
+                log.error("Drive sync for user {} failed", userId, e);
             }
         });
     }
@@ -110,87 +159,18 @@ public class DriveSyncService {
         drive.files().get(file.getId()).executeMediaAndDownloadTo(os);
         byte[] content = os.toByteArray();
         String rawText;
-        try (PDDocument pdf = PDDocument.load(content)) {
-            rawText = new PDFTextStripper().getText(pdf);
-        }
+        rawText = ingestion.extractPdfText(content, "drive");
         String docId = UUID.randomUUID().toString();
-        ingestText(rawText, file.getName(), docId, "default", userId, "drive");
+        if (!ingestion.ingest(rawText, file.getName(), docId, "default", userId, "drive").stored()) {
+            // IngestionService has logged the cause and removed the partial chunks
+            throw new IOException("ingestion failed");
+        }
         DocumentReference ref = new DocumentReference(docId, userId, file.getName(), file.getId(), "drive");
         ref.setFileSize(file.getSize());
         docRefRepo.save(ref);
         os.close();
     }
 
-    private void ingestText(
-        String rawText,
-        String filename,
-        String docId,
-        String workspace,
-        String userId,
-        String source
-    ) {
-        try {
-            List<String> chunks = chunkText(rawText, 400);
-            
-            // Skip embedding service - use random vectors temporarily
-            List<List<Double>> vectors = new ArrayList<>();
-            for (int i = 0; i < chunks.size(); i++) {
-                List<Double> vector = new ArrayList<>();
-                for (int j = 0; j < 384; j++) {
-                    vector.add(Math.random());
-                }
-                vectors.add(vector);
-            }
-
-            HttpHeaders weavHdr = new HttpHeaders();
-            weavHdr.setContentType(MediaType.APPLICATION_JSON);
-            if (weaviateApiKey != null && !weaviateApiKey.isEmpty()) {
-                weavHdr.set("Authorization", "Bearer " + weaviateApiKey);
-            }
-
-            for (int i = 0; i < chunks.size(); i++) {
-                Map<String,Object> obj = Map.of(
-                    "class","Chunk",
-                    "id", UUID.randomUUID().toString(),
-                    "properties", Map.of(
-                        "docId", docId,
-                        "text", chunks.get(i),
-                        "page", i+1,
-                        "userId", userId
-                    ),
-                    "vector", vectors.get(i)
-                );
-                rest.postForEntity(
-                    weaviateConfig.getObjectsEndpoint(),
-                    new HttpEntity<>(obj, weavHdr),
-                    String.class
-                );
-            }
-
-            rest.postForEntity(
-                weaviateConfig.getObjectsEndpoint(),
-                new HttpEntity<>(Map.of(
-                    "class","Document",
-                    "id", docId,
-                    "properties", Map.of(
-                        "title", filename,
-                        "pages", chunks.size(),
-                        "processed", true,
-                        "workspace", workspace,
-                        "userId", userId,
-                        "source", source
-                    )
-                ), weavHdr),
-                String.class
-            );
-            
-            System.out.println("[DriveSyncService] Successfully ingested " + chunks.size() + " chunks for " + filename);
-        } catch (Exception e) {
-            System.err.println("[DriveSyncService] Ingestion failed: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
-
     public byte[] downloadFileContent(String googleDriveId, String userId) {
         return repo.findByUserId(userId).map(tok -> {
             try {
@@ -199,7 +179,7 @@ public class DriveSyncService {
                 drive.files().get(googleDriveId).executeMediaAndDownloadTo(os);
                 return os.toByteArray();
             } catch (Exception e) {
-                e.printStackTrace();
+                log.warn("Could not download Drive file {} for user {}", googleDriveId, userId, e);
                 return null;
             }
         }).orElse(null);
@@ -209,7 +189,7 @@ public class DriveSyncService {
         Credential cred = new Credential.Builder(
             com.google.api.client.auth.oauth2.BearerToken.authorizationHeaderAccessMethod()
         )
-        .setTransport(GoogleNetHttpTransport.newTrustedTransport())
+        .setTransport(transport())
         .setJsonFactory(JSON)
         .setTokenServerUrl(new GenericUrl("https://oauth2.googleapis.com/token"))
         .setClientAuthentication(
@@ -230,7 +210,7 @@ public class DriveSyncService {
         }
 
         return new Drive.Builder(
-            GoogleNetHttpTransport.newTrustedTransport(),
+            transport(),
             JSON,
             cred
         )
@@ -238,14 +218,8 @@ public class DriveSyncService {
         .build();
     }
 
-    private List<String> chunkText(String text, int max) {
-        String[] w = text.split("\\s+");
-        List<String> o = new ArrayList<>();
-        for (int i = 0; i < w.length; i += max) {
-            o.add(String.join(" ",
-                Arrays.copyOfRange(w, i, Math.min(i + max, w.length))
-            ));
-        }
-        return o;
+    @PreDestroy
+    void shutdown() {
+        fetchers.shutdownNow();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,103 @@
+package com.vectormind.api;
+
+import com.vectormind.api.vector.Vector;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Turns text into embeddings. Calls the embedding service when it is enabled;
+ * otherwise returns random vectors of the configured size, as ingestion and
+ * search have done while no model is deployed.
+ */
+@Service
+public class EmbeddingService {
+
+    /** Response of the embedding service's /embed endpoint. */
+    record EmbedResponse(List<Vector> embeddings) {}
+
+    private final RestTemplate rest;
+    private final String serviceUrl;
+    private final boolean enabled;
+    private final int dimensions;
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observations;
+
+    public EmbeddingService(@Qualifier("embedderRestTemplate") RestTemplate rest,
+                            MeterRegistry meterRegistry,
+                            ObservationRegistry observations,
+                            @Value("${embedding.service.url:http://localhost:5001}") String serviceUrl,
+                            @Value("${embedding.service.enabled:false}") boolean enabled,
+                            @Value("${embedding.dimensions:384}") int dimensions) {
+        this.rest = rest;
+        this.serviceUrl = serviceUrl.endsWith("/") ? serviceUrl.substring(0, serviceUrl.length() - 1) : serviceUrl;
+        this.enabled = enabled;
+        this.dimensions = dimensions;
+        this.meterRegistry = meterRegistry;
+        this.observations = observations;
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    public Vector embed(String text) {
+        return embed(List.of(text)).get(0);
+    }
+
+    /** One vector per input text, in order. */
+    public List<Vector> embed(List<String> texts) {
+        if (enabled) {
+            return embedRemote(texts);
+        }
+        meterRegistry.summary("embedding.batch.size", "mode", "random").record(texts.size());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Vector> out = new ArrayList<>(texts.size());
+        for (int i = 0; i < texts.size(); i++) {
+            out.add(Vector.random(dimensions, random));
+        }
+        return out;
+    }
+
+    /** Always calls the embedding service, whether or not it is enabled for ingestion. */
+    public List<Vector> embedRemote(List<String> texts) {
+        meterRegistry.summary("embedding.batch.size", "mode", "remote").record(texts.size());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            List<Vector> vectors = Observation.createNotStarted("stage.embedding", observations)
+                .contextualName("embedding batch")
+                .highCardinalityKeyValue("batch.size", String.valueOf(texts.size()))
+                .observe(() -> {
+                    HttpHeaders headers = new HttpHeaders();
+                    headers.setContentType(MediaType.APPLICATION_JSON);
+                    EmbedResponse response = rest.postForObject(
+                        serviceUrl + "/embed",
+                        new HttpEntity<>(Map.of("texts", texts), headers),
+                        EmbedResponse.class
+                    );
+                    if (response == null || response.embeddings() == null || response.embeddings().size() != texts.size()) {
+                        throw new IllegalStateException("Embedding service returned no embeddings");
+                    }
+                    return response.embeddings();
+                });
+            outcome = "success";
+            return vectors;
+        } finally {
+            sample.stop(meterRegistry.timer("embedding.batch", "mode", "remote", "outcome", outcome));
+        }
+    }
+}
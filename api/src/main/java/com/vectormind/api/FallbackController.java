@@ -1,12 +1,8 @@
 package com.vectormind.api;
 
-import com.vectormind.api.config.WeaviateConfig;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
-import org.springframework.beans.factory.annotation.Value;
+import com.vectormind.api.controller.ContentTagCache;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,23 +22,19 @@ public class FallbackController {
 
     private static final Logger log = LoggerFactory.getLogger(FallbackController.class);
     private static final String DEMO_USER = "demo-user";
-    private static final int TOKENS_PER_CHUNK = 400;
 
-    private final RestTemplate restTemplate;
     private final DriveTokenRepository driveTokenRepository;
-    private final WeaviateConfig weaviateConfig;
-
-    @Value("${weaviate.api-key:}")
-    private String weaviateApiKey;
+    private final IngestionService ingestion;
+    private final ContentTagCache contentTags;
 
     public FallbackController(
-        RestTemplate restTemplate,
         DriveTokenRepository driveTokenRepository,
-        WeaviateConfig weaviateConfig
+        IngestionService ingestion,
+        ContentTagCache contentTags
     ) {
-        this.restTemplate = restTemplate;
         this.driveTokenRepository = driveTokenRepository;
-        this.weaviateConfig = weaviateConfig;
+        this.ingestion = ingestion;
+        this.contentTags = contentTags;
     }
 
     @GetMapping("/drive/status")
@@ -67,9 +59,7 @@ public class FallbackController {
         try {
             String rawText;
             if ("pdf".equals(ext)) {
-                try (PDDocument pdf = PDDocument.load(file.getInputStream())) {
-                    rawText = new PDFTextStripper().getText(pdf);
-                }
+                rawText = ingestion.extractPdfText(file.getInputStream(), "upload");
             } else if ("txt".equals(ext)) {
                 rawText = new String(file.getBytes(), StandardCharsets.UTF_8);
             } else {
@@ -81,11 +71,11 @@ public class FallbackController {
             Path out = Paths.get("uploads", docId + ".pdf");
             Files.createDirectories(out.getParent());
             Files.copy(file.getInputStream(), out, StandardCopyOption.REPLACE_EXISTING);
+            contentTags.prime(out);
 
-            ingestText(rawText, filename, docId, workspace.trim(), userId, "upload");
+            int chunkCount = ingestion.ingest(rawText, filename, docId, workspace.trim(), userId, "upload").chunks();
 
             int wordCount  = rawText.split("\\s+").length;
-            int chunkCount = chunkText(rawText, TOKENS_PER_CHUNK).size();
 
             return ResponseEntity.ok(Map.of(
                 "docId",  docId,
@@ -126,13 +116,12 @@ public class FallbackController {
             Path out = Paths.get("uploads", docId + ".pdf");
             Files.createDirectories(out.getParent());
             Files.write(out, bytes);
+            contentTags.prime(out);
 
             String rawText;
-            try (PDDocument pdf = PDDocument.load(bytes)) {
-                rawText = new PDFTextStripper().getText(pdf);
-            }
+            rawText = ingestion.extractPdfText(bytes, "external");
 
-            ingestText(rawText, name, docId, workspace.trim(), userId, "external");
+            ingestion.ingest(rawText, name, docId, workspace.trim(), userId, "external");
             return ResponseEntity.ok().build();
         } catch (Exception e) {
             log.error("External upload failed", e);
@@ -141,81 +130,4 @@ public class FallbackController {
                 .body(Map.of("error", e.getMessage()));
         }
     }
-
-    private void ingestText(
-        String text,
-        String filename,
-        String docId,
-        String workspace,
-        String userId,
-        String source
-    ) {
-        try {
-            List<String> chunks = chunkText(text, TOKENS_PER_CHUNK);
-
-            // Skip embedding service - use random vectors temporarily
-            List<List<Double>> vectors = new ArrayList<>();
-            for (int i = 0; i < chunks.size(); i++) {
-                List<Double> vector = new ArrayList<>();
-                for (int j = 0; j < 384; j++) {
-                    vector.add(Math.random());
-                }
-                vectors.add(vector);
-            }
-
-            HttpHeaders weavHdr = new HttpHeaders();
-            weavHdr.setContentType(MediaType.APPLICATION_JSON);
-            if (weaviateApiKey != null && !weaviateApiKey.isEmpty()) {
-                weavHdr.set("Authorization", "Bearer " + weaviateApiKey);
-            }
-
-            String objectsUrl = weaviateConfig.getObjectsEndpoint();
-            for (int i = 0; i < chunks.size(); i++) {
-                Map<String,Object> obj = Map.of(
-                    "class","Chunk",
-                    "id", UUID.randomUUID().toString(),
-                    "properties", Map.of(
-                        "docId",  docId,
-                        "text",   chunks.get(i),
-                        "page",   i + 1,
-                        "userId", userId
-                    ),
-                    "vector", vectors.get(i)
-                );
-                restTemplate.postForEntity(objectsUrl, new HttpEntity<>(obj, weavHdr), String.class);
-            }
-
-            restTemplate.postForEntity(
-                objectsUrl,
-                new HttpEntity<>(Map.of(
-                    "class","Document",
-                    "id",    docId,
-                    "properties", Map.of(
-                        "title",     filename,
-                        "pages",     chunks.size(),
-                        "processed", true,
-                        "workspace", workspace,
-                        "userId",    userId,
-                        "source",    source
-                    )
-                ), weavHdr),
-                String.class
-            );
-
-            log.info("Ingested {} chunks for {}", chunks.size(), filename);
-        } catch (Exception e) {
-            log.error("Ingestion failed for {}", filename, e);
-        }
-    }
-
-    private List<String> chunkText(String text, int maxTokens) {
-        String[] words = text.split("\\s+");
-        List<String> out = new ArrayList<>();
-        for (int i = 0; i < words.length; i += maxTokens) {
-            out.add(String.join(" ",
-                Arrays.copyOfRange(words, i, Math.min(i + maxTokens, words.length))
-            ));
-        }
-        return out;
-    }
-}
\ No newline at end of file
+}
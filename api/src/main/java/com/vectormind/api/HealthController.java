@@ -1,5 +1,7 @@
 package com.vectormind.api;
 
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -10,6 +12,14 @@ import java.util.Map;
 @RestController
 public class HealthController {
 
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+
+    public HealthController(CircuitBreakerRegistry circuitBreakers, BulkheadRegistry bulkheads) {
+        this.circuitBreakers = circuitBreakers;
+        this.bulkheads = bulkheads;
+    }
+
     @Value("${openai.api.key:}")
     private String openaiKey;
 
@@ -34,6 +44,16 @@ public class HealthController {
         services.put("weaviate_configured", !weaviateUrl.isBlank());
         
         status.put("services", services);
+
+        // Per-dependency breaker state and free bulkhead slots; an open breaker
+        // degrades search, it does not make this instance unhealthy
+        Map<String, Object> dependencies = new HashMap<>();
+        circuitBreakers.getAllCircuitBreakers().forEach(cb -> dependencies.put(cb.getName(), Map.of(
+            "state", cb.getState().name(),
+            "failureRate", cb.getMetrics().getFailureRate(),
+            "availableCalls", bulkheads.bulkhead(cb.getName()).getMetrics().getAvailableConcurrentCalls()
+        )));
+        status.put("dependencies", dependencies);
         
         // Add environment info
         Map<String, String> env = new HashMap<>();
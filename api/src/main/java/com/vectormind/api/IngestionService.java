@@ -0,0 +1,205 @@
+package com.vectormind.api;
+
+import com.vectormind.api.config.ContextExecutors;
+import com.vectormind.api.config.MetricsConfig;
+import com.vectormind.api.keyword.KeywordIndex;
+import com.vectormind.api.vector.LocalVectorIndex;
+import com.vectormind.api.vector.Vector;
+import com.vectormind.api.weaviate.WeaviateClient;
+import com.vectormind.api.weaviate.WhereFilter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Chunks extracted text, embeds the chunks and writes them to Weaviate along
+ * with the Document object. Shared by uploads, external uploads and Drive sync.
+ */
+@Service
+public class IngestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestionService.class);
+
+    public static final int TOKENS_PER_CHUNK = 400;
+
+    /** Chunks the text was split into, and whether they and the Document object were written. */
+    public record Result(int chunks, boolean stored) {}
+
+    private final WeaviateClient weaviate;
+    private final EmbeddingService embeddings;
+    private final LocalVectorIndex localIndex;
+    private final KeywordIndex keywordIndex;
+    private final int batchSize;
+    private final ExecutorService writers;
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observations;
+
+    public IngestionService(WeaviateClient weaviate,
+                            EmbeddingService embeddings,
+                            LocalVectorIndex localIndex,
+                            KeywordIndex keywordIndex,
+                            MeterRegistry meterRegistry,
+                            ObservationRegistry observations,
+                            @Value("${ingest.batch-size:100}") int batchSize,
+                            @Value("${weaviate.write-limit.max:32}") int maxWrites) {
+        this.weaviate = weaviate;
+        this.batchSize = Math.max(1, batchSize);
+        this.writers = ContextExecutors.propagating(Executors.newFixedThreadPool(Math.max(1, maxWrites), r -> {
+            Thread t = new Thread(r, "weaviate-writer");
+            t.setDaemon(true);
+            return t;
+        }));
+        this.embeddings = embeddings;
+        this.localIndex = localIndex;
+        this.keywordIndex = keywordIndex;
+        this.meterRegistry = meterRegistry;
+        this.observations = observations;
+    }
+
+    /** Text of a PDF, timed as ingest.extraction for the given source and traced as its own span. */
+    public String extractPdfText(InputStream pdf, String source) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return Observation.createNotStarted("stage.extraction", observations)
+                .contextualName("pdf extraction")
+                .lowCardinalityKeyValue("source", source)
+                .observeChecked(() -> {
+                    try (PDDocument doc = PDDocument.load(pdf)) {
+                        return new PDFTextStripper().getText(doc);
+                    }
+                });
+        } finally {
+            sample.stop(meterRegistry.timer("ingest.extraction", "source", source, "type", "pdf"));
+        }
+    }
+
+    public String extractPdfText(byte[] pdf, String source) throws IOException {
+        return extractPdfText(new ByteArrayInputStream(pdf), source);
+    }
+
+    /**
+     * Ingests the text and returns how many chunks it was split into and
+     * whether they were stored. Failures are logged and reported in the
+     * result, not thrown, so an upload can still succeed; the partial chunks
+     * have been removed by then, so callers should not record the document.
+     * The whole ingest is one span; chunking, embedding and each Weaviate
+     * batch are spans inside it, on whichever writer thread runs them.
+     */
+    public Result ingest(String rawText, String filename, String docId, String workspace,
+                         String userId, String source) {
+        return Observation.createNotStarted("stage.ingest", observations)
+            .contextualName("ingest " + source)
+            .lowCardinalityKeyValue("source", source)
+            .highCardinalityKeyValue("doc.id", docId)
+            .observe(() -> ingestInScope(rawText, filename, docId, workspace, userId, source));
+    }
+
+    private Result ingestInScope(String rawText, String filename, String docId, String workspace,
+                              String userId, String source) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        List<String> chunks = Observation.createNotStarted("stage.chunking", observations)
+            .contextualName("chunking")
+            .observe(() -> chunkText(rawText, TOKENS_PER_CHUNK));
+        DistributionSummary.builder("ingest.chunks").tag("source", source).register(meterRegistry)
+            .record(chunks.size());
+        try {
+            List<Vector> vectors = embeddings.embed(chunks);
+            List<String> ids = new ArrayList<>(chunks.size());
+            List<Map<String,Object>> objects = new ArrayList<>(chunks.size());
+
+            for (int i = 0; i < chunks.size(); i++) {
+                String id = UUID.randomUUID().toString();
+                ids.add(id);
+                objects.add(Map.of(
+                    "class","Chunk",
+                    "id", id,
+                    "properties", Map.of(
+                        "docId",     docId,
+                        "workspace", workspace,
+                        "text",      chunks.get(i),
+                        "page",      i + 1,
+                        "userId",    userId
+                    ),
+                    "vector", vectors.get(i)
+                ));
+            }
+
+            // Batch imports run side by side; the client's adaptive limit decides how many are in flight
+            List<CompletableFuture<Void>> writes = new ArrayList<>();
+            for (int from = 0; from < objects.size(); from += batchSize) {
+                List<Map<String,Object>> batch = objects.subList(from, Math.min(objects.size(), from + batchSize));
+                writes.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        weaviate.batchObjects(batch);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new CompletionException(e);
+                    }
+                }, writers));
+            }
+            CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).join();
+
+            weaviate.createObject(Map.of(
+                "class","Document",
+                "id",    docId,
+                "properties", Map.of(
+                    "title",     filename,
+                    "pages",     chunks.size(),
+                    "processed", true,
+                    "workspace", workspace,
+                    "userId",    userId,
+                    "source",    source
+                )
+            ));
+
+            localIndex.addDocument(userId, docId, workspace, ids, chunks, vectors);
+            keywordIndex.addDocument(userId, docId, workspace, ids, chunks);
+            log.info("Ingested {} chunks for {}", chunks.size(), filename);
+            outcome = "success";
+        } catch (Exception e) {
+            log.error("Ingestion failed for {}", filename, e);
+            Observation current = observations.getCurrentObservation();
+            if (current != null) current.error(e);
+            // best effort; whatever survives is reclaimed by OrphanChunkCollector
+            try {
+                weaviate.deleteWhere("Chunk", WhereFilter.equal("docId", docId));
+            } catch (Exception cleanup) {
+                log.warn("Could not remove partial chunks of {}", docId, cleanup);
+            }
+        } finally {
+            sample.stop(meterRegistry.timer("ingest.duration", "source", source, "outcome", outcome));
+            meterRegistry.counter("ingest.documents", "source", source, "outcome", outcome,
+                MetricsConfig.USER_TAG, userId).increment();
+        }
+        return new Result(chunks.size(), "success".equals(outcome));
+    }
+
+    public static List<String> chunkText(String text, int maxTokens) {
+        String[] words = text.split("\\s+");
+        List<String> out = new ArrayList<>();
+        for (int i = 0; i < words.length; i += maxTokens) {
+            out.add(String.join(" ",
+                Arrays.copyOfRange(words, i, Math.min(i + maxTokens, words.length))
+            ));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,176 @@
+package com.vectormind.api;
+
+import com.vectormind.api.keyword.KeywordIndex;
+import com.vectormind.api.vector.LocalVectorIndex;
+import com.vectormind.api.weaviate.BatchDeleteResult;
+import com.vectormind.api.weaviate.ObjectId;
+import com.vectormind.api.weaviate.StoredChunk;
+import com.vectormind.api.weaviate.WeaviateClient;
+import com.vectormind.api.weaviate.WhereFilter;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Deletes Chunk objects whose docId matches neither a Document object nor
+ * a DocumentReference row. Such chunks are left behind by ingests that fail
+ * halfway and by older deletes. Chunks of a docId are only collected once
+ * its newest chunk is older than the grace period, so an ingest that is
+ * still running (chunks go in before the Document) is never mistaken for an
+ * orphan. Every Weaviate request the collector makes goes through a rate
+ * limiter, so a sweep never competes with user traffic for long.
+ */
+@Component
+public class OrphanChunkCollector {
+
+    private static final Logger log = LoggerFactory.getLogger(OrphanChunkCollector.class);
+
+    /** Outcome of one sweep. */
+    public record Report(Instant startedAt, Instant finishedAt, long chunksScanned, int orphanDocuments,
+                         long chunksDeleted, long chunksFailed, String error) {}
+
+    private record Orphan(String userId, long newestChunk) {}
+
+    private final WeaviateClient weaviate;
+    private final DocumentReferenceRepository references;
+    private final LocalVectorIndex localIndex;
+    private final KeywordIndex keywordIndex;
+    private final boolean enabled;
+    private final int pageSize;
+    private final Duration grace;
+    private final RateLimiter rateLimiter;
+    private final Counter reclaimed;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Report lastReport;
+
+    public OrphanChunkCollector(WeaviateClient weaviate,
+                                DocumentReferenceRepository references,
+                                LocalVectorIndex localIndex,
+                                KeywordIndex keywordIndex,
+                                MeterRegistry meterRegistry,
+                                @Value("${chunk-gc.enabled:true}") boolean enabled,
+                                @Value("${chunk-gc.page-size:500}") int pageSize,
+                                @Value("${chunk-gc.grace-minutes:60}") long graceMinutes,
+                                @Value("${chunk-gc.requests-per-second:5}") int requestsPerSecond) {
+        this.weaviate = weaviate;
+        this.references = references;
+        this.localIndex = localIndex;
+        this.keywordIndex = keywordIndex;
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+        this.grace = Duration.ofMinutes(graceMinutes);
+        this.rateLimiter = RateLimiter.of("chunk-gc", RateLimiterConfig.custom()
+            .limitForPeriod(Math.max(1, requestsPerSecond))
+            .limitRefreshPeriod(Duration.ofSeconds(1))
+            .timeoutDuration(Duration.ofMinutes(1))
+            .build());
+        this.reclaimed = Counter.builder("chunk_gc.reclaimed")
+            .description("Orphaned Chunk objects deleted")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${chunk-gc.initial-delay-ms:600000}",
+               fixedDelayString = "${chunk-gc.interval-ms:21600000}")
+    void scheduledSweep() {
+        if (enabled) sweep();
+    }
+
+    /** Runs one sweep now; returns empty if a sweep is already running. */
+    public Optional<Report> sweep() {
+        if (!running.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        Instant started = Instant.now();
+        long scanned = 0, deleted = 0, failed = 0;
+        int orphans = 0;
+        String error = null;
+        try {
+            Set<String> known = knownDocIds();
+
+            // docIds nobody knows, with their owner and newest chunk
+            Map<String, Orphan> candidates = new HashMap<>();
+            String after = null;
+            List<StoredChunk> page;
+            do {
+                String cursor = after;
+                page = paced(() -> weaviate.listObjects("Chunk", cursor, pageSize, false, StoredChunk.class));
+                for (StoredChunk chunk : page) {
+                    after = chunk.id();
+                    scanned++;
+                    StoredChunk.Properties p = chunk.properties();
+                    if (p == null || p.docId() == null || known.contains(p.docId())) continue;
+                    long created = chunk.creationTimeUnix() != null ? chunk.creationTimeUnix() : Long.MAX_VALUE;
+                    candidates.merge(p.docId(), new Orphan(p.userId(), created),
+                        (a, b) -> a.newestChunk() >= b.newestChunk() ? a : b);
+                }
+            } while (!page.isEmpty());
+
+            // a Document or reference may have appeared while we scanned
+            known = knownDocIds();
+            long cutoff = started.minus(grace).toEpochMilli();
+            for (Map.Entry<String, Orphan> e : candidates.entrySet()) {
+                String docId = e.getKey();
+                Orphan orphan = e.getValue();
+                if (known.contains(docId) || orphan.newestChunk() > cutoff) continue;
+                BatchDeleteResult result = paced(() -> weaviate.deleteWhere("Chunk", WhereFilter.equal("docId", docId)));
+                orphans++;
+                deleted += result.successful();
+                failed += result.failed();
+                reclaimed.increment(result.successful());
+                if (orphan.userId() != null) {
+                    localIndex.removeDocument(orphan.userId(), docId);
+                    keywordIndex.removeDocument(orphan.userId(), docId);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Orphan chunk sweep stopped early", e);
+            error = e.getMessage();
+        } finally {
+            running.set(false);
+        }
+
+        Report report = new Report(started, Instant.now(), scanned, orphans, deleted, failed, error);
+        lastReport = report;
+        log.info("Orphan chunk sweep: scanned {} chunks, deleted {} chunks of {} orphaned docIds ({} failed) in {} ms",
+            scanned, deleted, orphans, failed, Duration.between(started, report.finishedAt()).toMillis());
+        return Optional.of(report);
+    }
+
+    public Optional<Report> lastReport() {
+        return Optional.ofNullable(lastReport);
+    }
+
+    private Set<String> knownDocIds() {
+        Set<String> known = new HashSet<>();
+        for (DocumentReference ref : references.findAll()) {
+            known.add(ref.getDocId());
+        }
+        String after = null;
+        List<ObjectId> page;
+        do {
+            String cursor = after;
+            page = paced(() -> weaviate.listObjects("Document", cursor, pageSize, false, ObjectId.class));
+            for (ObjectId doc : page) {
+                known.add(doc.id());
+                after = doc.id();
+            }
+        } while (!page.isEmpty());
+        return known;
+    }
+
+    private <T> T paced(Supplier<T> request) {
+        return RateLimiter.decorateSupplier(rateLimiter, request).get();
+    }
+}
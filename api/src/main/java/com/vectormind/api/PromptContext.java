@@ -0,0 +1,45 @@
+package com.vectormind.api;
+
+import com.vectormind.api.weaviate.ChunkHit;
+
+import java.util.*;
+
+/**
+ * The context block sent with a question: chunks in the order given, each as
+ * "Page n: text", until the token budget is spent. Tokens are estimated at
+ * four characters each, which is close enough for English prose to keep the
+ * prompt inside the budget without a tokenizer.
+ */
+record PromptContext(String text, List<Map<String, Object>> sources, int estimatedTokens) {
+
+    static final int CHARS_PER_TOKEN = 4;
+
+    /** A chunk is cut to fit the remaining budget only if at least this much of it survives. */
+    static final int MIN_PARTIAL_TOKENS = 64;
+
+    static PromptContext build(List<ChunkHit> chunks, int tokenBudget) {
+        int budgetChars = tokenBudget * CHARS_PER_TOKEN;
+        StringBuilder ctx = new StringBuilder();
+        List<Map<String, Object>> sources = new ArrayList<>();
+        for (ChunkHit c : chunks) {
+            String text = String.valueOf(c.text());
+            String prefix = "Page " + c.page() + ": ";
+            int room = budgetChars - ctx.length() - prefix.length() - 2;
+            if (room < MIN_PARTIAL_TOKENS * CHARS_PER_TOKEN && room < text.length()) break;
+            String included = text.length() <= room ? text : cutAtWord(text, room);
+            ctx.append(prefix).append(included).append("\n\n");
+
+            Map<String, Object> source = new HashMap<>();
+            source.put("page", c.page());
+            source.put("excerpt", text.substring(0, Math.min(100, text.length())) + "...");
+            source.put("confidence", c.certainty());
+            sources.add(source);
+        }
+        return new PromptContext(ctx.toString(), sources, (ctx.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN);
+    }
+
+    private static String cutAtWord(String text, int maxChars) {
+        int cut = text.lastIndexOf(' ', maxChars);
+        return text.substring(0, cut > 0 ? cut : maxChars);
+    }
+}
@@ -1,34 +1,146 @@
 package com.vectormind.api;
 
-import com.vectormind.api.config.WeaviateConfig;
+import com.vectormind.api.config.ContextExecutors;
+import com.vectormind.api.config.MetricsConfig;
+import com.vectormind.api.keyword.KeywordIndex;
+import com.vectormind.api.keyword.RankFusion;
+import com.vectormind.api.vector.DocumentVectorCache;
+import com.vectormind.api.vector.LocalVectorIndex;
+import com.vectormind.api.vector.Mmr;
+import com.vectormind.api.vector.Vector;
+import com.vectormind.api.weaviate.ChunkFilter;
+import com.vectormind.api.weaviate.ChunkHit;
+import com.vectormind.api.weaviate.NearVectorQuery;
+import com.vectormind.api.weaviate.WeaviateClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 
 @RestController
 @RequestMapping("/api")
 public class SearchController {
 
+    private static final Logger log = LoggerFactory.getLogger(SearchController.class);
+
     private final RestTemplate rest;
-    private final WeaviateConfig weaviateConfig;
-    private final String weaviateApiKey;
+    private final WeaviateClient weaviate;
+    private final EmbeddingService embeddings;
+    private final LocalVectorIndex localIndex;
+    private final DocumentVectorCache documentVectors;
+    private final KeywordIndex keywordIndex;
 
     @Value("${openai.api.key:}")
     private String cfgKey;
 
-    public SearchController(
-        RestTemplate rest,
-        WeaviateConfig weaviateConfig,
-        @Value("${weaviate.api-key:}") String weaviateApiKey
-    ) {
+    @Value("${openai.api.url:https://api.openai.com/v1/chat/completions}")
+    private String openAiUrl;
+
+    @Value("${search.k.default:4}")
+    private int defaultK;
+
+    @Value("${search.k.max:20}")
+    private int maxK;
+
+    @Value("${search.context-tokens.default:1500}")
+    private int defaultContextTokens;
+
+    @Value("${search.context-tokens.max:6000}")
+    private int maxContextTokens;
+
+    @Value("${search.mmr.lambda:0.5}")
+    private double mmrLambda;
+
+    @Value("${search.mmr.pool-factor:3}")
+    private int mmrPoolFactor;
+
+    @Value("${search.batch.max-queries:500}")
+    private int batchMaxQueries;
+
+    @Value("${search.batch.graphql-group:20}")
+    private int batchGraphqlGroup;
+
+    @Value("${search.batch.timeout-ms:600000}")
+    private long batchTimeoutMs;
+
+    @Value("${search.retrieval.deadline-ms:1500}")
+    private long retrievalDeadlineMs;
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    /** Runs batch retrieval and the LLM calls; its size bounds concurrent LLM calls across all batches. */
+    private final ExecutorService batchPool;
+    private final ExecutorService weaviateLookups;
+    /**
+     * Weaviate lookups and speculative LLM calls of interactive searches. At
+     * most search.retrieval.max-threads run at once and nothing queues; a task
+     * that finds the pool full runs on the thread submitting it, which is the
+     * plain synchronous path without the deadline race.
+     */
+    private final ExecutorService speculative;
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observations;
+
+    public SearchController(@Qualifier("openAiRestTemplate") RestTemplate rest, WeaviateClient weaviate, EmbeddingService embeddings,
+                            LocalVectorIndex localIndex, DocumentVectorCache documentVectors,
+                            KeywordIndex keywordIndex, MeterRegistry meterRegistry, ObservationRegistry observations,
+                            @Value("${search.batch.llm-concurrency:8}") int llmConcurrency,
+                            @Value("${search.batch.weaviate-concurrency:4}") int weaviateConcurrency,
+                            @Value("${search.retrieval.max-threads:64}") int retrievalThreads) {
         this.rest = rest;
-        this.weaviateConfig = weaviateConfig;
-        this.weaviateApiKey = weaviateApiKey;
+        this.weaviate = weaviate;
+        this.embeddings = embeddings;
+        this.localIndex = localIndex;
+        this.documentVectors = documentVectors;
+        this.keywordIndex = keywordIndex;
+        this.batchPool = ContextExecutors.propagating(
+            Executors.newFixedThreadPool(llmConcurrency, daemon("search-batch")));
+        this.weaviateLookups = ContextExecutors.propagating(
+            Executors.newFixedThreadPool(weaviateConcurrency, daemon("search-batch-weaviate")));
+        Counter rejected = meterRegistry.counter("search.retrieval.rejected");
+        this.speculative = ContextExecutors.propagating(new ThreadPoolExecutor(
+            0, Math.max(1, retrievalThreads), 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+            daemon("search-retrieval"),
+            (task, pool) -> {
+                rejected.increment();
+                if (!pool.isShutdown()) task.run();
+            }));
+        this.meterRegistry = meterRegistry;
+        this.observations = observations;
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        };
     }
 
     private String getUserId(Authentication auth) {
@@ -40,12 +152,12 @@ public class SearchController {
 
     @PostMapping("/search")
     public ResponseEntity<?> search(
-        @RequestBody Map<String, String> body,
+        @RequestBody Map<String, Object> body,
         Authentication auth
     ) {
         String userId = getUserId(auth);
-        String query  = Optional.ofNullable(body.get("query")).orElse("").trim();
-        String docId  = Optional.ofNullable(body.get("docId")).orElse("").trim();
+        String query  = Objects.toString(body.get("query"), "").trim();
+        ChunkFilter filter = parseFilter(body);
 
         if (query.isBlank()) {
             return ResponseEntity.badRequest().body(Map.of("error","missing query"));
@@ -58,75 +170,278 @@ public class SearchController {
                                  .body(Map.of("error","Search unavailable – OpenAI key missing"));
         }
 
-        // Use random vector instead of embedding service
-        List<Double> vector = new ArrayList<>();
-        for (int j = 0; j < 384; j++) {
-            vector.add(Math.random());
-        }
+        // 1) embed (random until the embedding service is enabled)
+        float[] vector = embeddings.embed(query).values();
+
+       // 2) retrievers return a wider pool; MMR then picks k diverse chunks from it
+       int k = parseParam(body.get("k"), defaultK, 1, maxK);
+       int contextTokens = parseParam(body.get("contextTokens"), defaultContextTokens, 256, maxContextTokens);
+       int candidates = k * mmrPoolFactor;
+
+       // 3) answer in-process (one document's vectors, or the user's whole index), or call Weaviate on a miss
+       long start = System.nanoTime();
+       List<ChunkHit> chunks = searchInProcess(userId, filter, vector, candidates).orElse(null);
+       String outcome = "in_process";
+       if (chunks == null) {
+           CompletableFuture<List<ChunkHit>> lookup = CompletableFuture.supplyAsync(
+               () -> weaviate.graphql(chunkQuery(userId, filter, vector, candidates).toRequestBody(),
+                                      "Get", "Chunk", ChunkHit.READER),
+               speculative);
+           try {
+               chunks = lookup.get(retrievalDeadlineMs, TimeUnit.MILLISECONDS);
+               outcome = "weaviate";
+           } catch (TimeoutException e) {
+               // 3b) past the deadline: race a no-context answer against the late retrieval
+               Outcome first = raceAfterDeadline(userId, filter, query, vector, lookup, k, contextTokens);
+               return record(start, userId, first.name(), first.response());
+           } catch (InterruptedException e) {
+               Thread.currentThread().interrupt();
+               return record(start, userId, "no_context", callOpenAI(query));
+           } catch (ExecutionException e) {
+               if (!keywordIndex.isReady()) {
+                   return record(start, userId, "no_context", callOpenAI(query));
+               }
+               chunks = List.of();
+               outcome = "keyword_only";
+           }
+       }
+
+       // 4) fuse with BM25 keyword matches, diversify, pack into the token budget
+       return record(start, userId, outcome, answer(userId, filter, query, vector, chunks, k, contextTokens));
+   }
 
-        // 2) filter
-        String where = docId.isBlank()
-            ? String.format("path:[\"userId\"],operator:Equal,valueText:\"%s\"", userId)
-            : String.format(
-                  "operator:And,operands:[{path:[\"userId\"],operator:Equal,valueText:\"%s\"},{path:[\"docId\"],operator:Equal,valueText:\"%s\"}]",
-                 userId, docId
-             );
-
-       // 3) GraphQL
-       String gql = String.format("""
-           {
-             Get {
-               Chunk(
-                 where: { %s }
-                 nearVector: { vector: %s }
-                 limit: 4
-               ) {
-                 text page docId userId _additional { certainty }
+   /** Which path produced a search's answer, for the search.latency metric. */
+   private record Outcome(String name, ResponseEntity<?> response) {}
+
+   /**
+    * Starts the no-context LLM call next to the still-running Weaviate
+    * lookup and returns the first usable (200) answer. If neither path
+    * produces one, the last response that arrived is returned, such as the
+    * fallback's 429 when the lookup then fails outright.
+    */
+   private Outcome raceAfterDeadline(String userId, ChunkFilter filter, String query, float[] vector,
+                                     CompletableFuture<List<ChunkHit>> lookup, int k, int contextTokens) {
+       CompletableFuture<Outcome> first = new CompletableFuture<>();
+       AtomicInteger pending = new AtomicInteger(2);
+       AtomicReference<Outcome> last = new AtomicReference<>();
+       BiConsumer<Outcome, Throwable> settle = (o, error) -> {
+           if (error == null && o != null) {
+               if (o.response().getStatusCode() == HttpStatus.OK) {
+                   first.complete(o);
+                   return;
                }
-             }
+               last.set(o);
+           }
+           if (pending.decrementAndGet() == 0) {
+               Outcome answer = last.get();
+               first.complete(answer != null ? answer : new Outcome("failed",
+                   ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", "search failed"))));
            }
-       """, where, vector);
+       };
+
+       CompletableFuture
+           .supplyAsync(() -> new Outcome("deadline_fallback", callOpenAI(query)), speculative)
+           .whenComplete(settle);
+
+       lookup
+           .handle((chunks, error) -> {
+               if (error != null && !keywordIndex.isReady()) return null;
+               return chunks == null ? List.<ChunkHit>of() : chunks;
+           })
+           .thenApplyAsync(chunks -> {
+               // not worth a second LLM call once the fallback has answered
+               if (chunks == null || first.isDone()) return null;
+               return new Outcome("deadline_context", answer(userId, filter, query, vector, chunks, k, contextTokens));
+           }, speculative)
+           .whenComplete(settle);
+
+       return first.join();
+   }
+
+   private ResponseEntity<?> record(long startNanos, String userId, String outcome, ResponseEntity<?> response) {
+       meterRegistry.timer("search.latency", "outcome", outcome)
+                    .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+       meterRegistry.counter("search.requests", MetricsConfig.USER_TAG, userId,
+                             "status", String.valueOf(response.getStatusCode().value())).increment();
+       return response;
+   }
 
-       // 4) call Weaviate
-       HttpHeaders weavHdr = new HttpHeaders();
-       weavHdr.setContentType(MediaType.APPLICATION_JSON);
-       if (weaviateApiKey != null && !weaviateApiKey.isEmpty()) {
-           weavHdr.set("Authorization", "Bearer " + weaviateApiKey);
+   /**
+    * Answers many questions against the same scope in one call, for
+    * evaluation suites. Queries are embedded in one batch, Weaviate lookups
+    * the in-process indexes cannot serve go out as multi-query GraphQL
+    * requests, and LLM calls run on a bounded pool. Results stream back as
+    * NDJSON, one line per question in completion order, tagged with its index.
+    */
+   @PostMapping("/search/batch")
+   public ResponseEntity<ResponseBodyEmitter> searchBatch(
+       @RequestBody Map<String, Object> body,
+       Authentication auth
+   ) {
+       String userId = getUserId(auth);
+       List<String> queries = new ArrayList<>();
+       if (body.get("queries") instanceof Collection<?> list) {
+           for (Object q : list) queries.add(Objects.toString(q, "").trim());
+       }
+       if (queries.isEmpty() || queries.stream().anyMatch(String::isBlank)) {
+           return batchError(HttpStatus.BAD_REQUEST, "queries must be a non-empty list of questions");
+       }
+       if (queries.size() > batchMaxQueries) {
+           return batchError(HttpStatus.BAD_REQUEST, "at most " + batchMaxQueries + " queries per batch");
        }
+       if (getOpenAIKey().isBlank()) {
+           return batchError(HttpStatus.SERVICE_UNAVAILABLE, "Search unavailable – OpenAI key missing");
+       }
+
+       ChunkFilter filter = parseFilter(body);
+       int k = parseParam(body.get("k"), defaultK, 1, maxK);
+       int contextTokens = parseParam(body.get("contextTokens"), defaultContextTokens, 256, maxContextTokens);
+       int candidates = k * mmrPoolFactor;
+
+       ResponseBodyEmitter emitter = new ResponseBodyEmitter(batchTimeoutMs);
+       AtomicBoolean closed = new AtomicBoolean();
+       emitter.onTimeout(() -> closed.set(true));
+       emitter.onError(e -> closed.set(true));
 
-       Map<?,?> weav;
+       CompletableFuture
+           .supplyAsync(() -> retrieveBatch(userId, filter, queries, candidates), batchPool)
+           .thenCompose(retrieved -> {
+               CompletableFuture<?>[] answers = new CompletableFuture<?>[queries.size()];
+               for (int i = 0; i < queries.size(); i++) {
+                   int index = i;
+                   answers[i] = CompletableFuture.runAsync(() -> {
+                       if (closed.get()) return;
+                       String query = queries.get(index);
+                       Retrieved r = retrieved.get(index);
+                       ResponseEntity<?> resp = r.chunks() == null
+                           ? callOpenAI(query)
+                           : answer(userId, filter, query, r.vector(), r.chunks(), k, contextTokens);
+                       sendLine(emitter, closed, batchLine(index, query, resp));
+                   }, batchPool);
+               }
+               return CompletableFuture.allOf(answers);
+           })
+           .whenComplete((done, error) -> {
+               if (error != null) {
+                   sendLine(emitter, closed, Map.of("error", "batch failed: " + error.getMessage()));
+               }
+               if (!closed.get()) emitter.complete();
+           });
+
+       return ResponseEntity.ok().contentType(NDJSON).body(emitter);
+   }
+
+   /** A one-line NDJSON error; the emitter return type leaves no room for a plain JSON body. */
+   private static ResponseEntity<ResponseBodyEmitter> batchError(HttpStatus status, String message) {
+       ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+       sendLine(emitter, new AtomicBoolean(), Map.of("error", message));
+       emitter.complete();
+       return ResponseEntity.status(status).contentType(NDJSON).body(emitter);
+   }
+
+   /** A query's vector and retrieved chunks; chunks are null when retrieval failed outright. */
+   private record Retrieved(float[] vector, List<ChunkHit> chunks) {}
+
+   private List<Retrieved> retrieveBatch(String userId, ChunkFilter filter, List<String> queries, int candidates) {
+       List<Vector> vectors = embeddings.embed(queries);
+       List<Retrieved> retrieved = new ArrayList<>(queries.size());
+       List<Integer> misses = new ArrayList<>();
+       for (int i = 0; i < queries.size(); i++) {
+           float[] vector = vectors.get(i).values();
+           List<ChunkHit> chunks = searchInProcess(userId, filter, vector, candidates).orElse(null);
+           retrieved.add(new Retrieved(vector, chunks));
+           if (chunks == null) misses.add(i);
+       }
+
+       // Misses go to Weaviate a group at a time, one GraphQL request per group, groups in parallel
+       List<CompletableFuture<Void>> groups = new ArrayList<>();
+       for (int from = 0; from < misses.size(); from += batchGraphqlGroup) {
+           List<Integer> group = misses.subList(from, Math.min(misses.size(), from + batchGraphqlGroup));
+           groups.add(CompletableFuture.runAsync(() -> {
+               List<NearVectorQuery> gql = new ArrayList<>(group.size());
+               for (int i : group) gql.add(chunkQuery(userId, filter, retrieved.get(i).vector(), candidates));
+               Map<String, List<ChunkHit>> hits;
+               try {
+                   hits = weaviate.graphqlAll(NearVectorQuery.batchRequestBody(gql), "Get", ChunkHit.READER);
+               } catch (Exception e) {
+                   hits = null;
+               }
+               for (int j = 0; j < group.size(); j++) {
+                   int i = group.get(j);
+                   List<ChunkHit> chunks = hits != null ? hits.getOrDefault("q" + j, List.of())
+                                         : keywordIndex.isReady() ? List.of() : null;
+                   synchronized (retrieved) {
+                       retrieved.set(i, new Retrieved(retrieved.get(i).vector(), chunks));
+                   }
+               }
+           }, weaviateLookups));
+       }
+       CompletableFuture.allOf(groups.toArray(CompletableFuture[]::new)).join();
+       return retrieved;
+   }
+
+   private Map<String, Object> batchLine(int index, String query, ResponseEntity<?> resp) {
+       Map<String, Object> line = new LinkedHashMap<>();
+       line.put("index", index);
+       line.put("query", query);
+       if (resp.getBody() instanceof Map<?, ?> m) {
+           m.forEach((key, value) -> line.put(String.valueOf(key), value));
+       }
+       if (resp.getStatusCode() != HttpStatus.OK) {
+           line.put("status", resp.getStatusCode().value());
+       }
+       return line;
+   }
+
+   private static void sendLine(ResponseBodyEmitter emitter, AtomicBoolean closed, Map<String, Object> line) {
+       if (closed.get()) return;
        try {
-           weav = rest.postForObject(
-               weaviateConfig.getGraphQLEndpoint(),
-               new HttpEntity<>(Map.of("query", gql), weavHdr),
-               Map.class
-           );
+           synchronized (emitter) {
+               emitter.send(line, MediaType.APPLICATION_JSON);
+               emitter.send("\n", MediaType.TEXT_PLAIN);
+           }
        } catch (Exception e) {
-           return callOpenAI(query, weavHdr);
+           // client went away; the remaining questions are skipped
+           closed.set(true);
        }
+   }
 
-       @SuppressWarnings("unchecked")
-       List<Map<String,Object>> chunks = (List<Map<String,Object>>)
-           ((Map<?,?>)((Map<?,?>)weav.get("data")).get("Get")).get("Chunk");
+   /** In-process vector hits, or empty when neither local index can answer for this scope. */
+   private Optional<List<ChunkHit>> searchInProcess(String userId, ChunkFilter filter, float[] vector, int candidates) {
+       String singleDoc = filter.singleDocument();
+       return singleDoc == null
+           ? localIndex.search(userId, filter, vector, candidates)
+           : documentVectors.search(userId, singleDoc, vector, candidates);
+   }
+
+   private static NearVectorQuery chunkQuery(String userId, ChunkFilter filter, float[] vector, int candidates) {
+       return NearVectorQuery.of("Chunk")
+           .vector(vector)
+           .where(filter.toWhere(userId))
+           .limit(candidates)
+           .fields("text page docId userId _additional { certainty vector }");
+   }
 
-       if (chunks == null || chunks.isEmpty()) {
-           return callOpenAI(query, weavHdr);
+   /** Fuses BM25 keyword matches in, picks k diverse chunks, packs them into the budget and asks the LLM. */
+   private ResponseEntity<?> answer(String userId, ChunkFilter filter, String query, float[] vector,
+                                    List<ChunkHit> chunks, int k, int contextTokens) {
+       int candidates = k * mmrPoolFactor;
+
+       // exact names and numbers are not lost to the embedding
+       Optional<List<ChunkHit>> keywordHits = keywordIndex.search(userId, filter, query, candidates);
+       if (keywordHits.isPresent()) {
+           chunks = RankFusion.fuse(candidates, chunks, keywordHits.get());
        }
 
-       // 5) build context
-       StringBuilder ctx = new StringBuilder();
-       List<Map<String,Object>> sources = new ArrayList<>();
-       for (var c : chunks) {
-           ctx.append("Page ").append(c.get("page")).append(": ").append(c.get("text")).append("\n\n");
-           sources.add(Map.of(
-               "page", c.get("page"),
-               "excerpt", String.valueOf(c.get("text"))
-                                 .substring(0, Math.min(100, String.valueOf(c.get("text")).length())) + "...",
-               "confidence", ((Map<?,?>)c.get("_additional")).get("certainty")
-           ));
+       if (chunks.isEmpty()) {
+           return callOpenAI(query);
        }
 
-       ResponseEntity<?> aiResp = callOpenAI("Context:\n" + ctx + "\n\nQuestion:\n" + query, weavHdr);
+       chunks = Mmr.select(vector, chunks, k, mmrLambda);
+       PromptContext ctx = PromptContext.build(chunks, contextTokens);
+       List<Map<String,Object>> sources = ctx.sources();
+
+       ResponseEntity<?> aiResp = callOpenAI("Context:\n" + ctx.text() + "\n\nQuestion:\n" + query);
        if (aiResp.getStatusCode() == HttpStatus.OK && aiResp.getBody() instanceof Map) {
            @SuppressWarnings("unchecked")
            Map<String,Object> bodyMap = new HashMap<>((Map<String,Object>)aiResp.getBody());
@@ -136,13 +451,42 @@ public class SearchController {
        return aiResp;
    }
 
+   /**
+    * Search scope from the request: "docId" (one document), "docIds" (a list)
+    * and "workspace" may be combined; all absent means every chunk of the user.
+    */
+   private static ChunkFilter parseFilter(Map<String, Object> body) {
+       Set<String> docIds = new HashSet<>();
+       if (body.get("docId") instanceof String id && !id.isBlank()) {
+           docIds.add(id.trim());
+       }
+       if (body.get("docIds") instanceof Collection<?> ids) {
+           for (Object id : ids) {
+               if (id instanceof String s && !s.isBlank()) docIds.add(s.trim());
+           }
+       }
+       String workspace = body.get("workspace") instanceof String ws ? ws.trim() : null;
+       return new ChunkFilter(docIds, workspace);
+   }
+
+   /** An integer request parameter, clamped to [min, max]; absent or malformed values get the default. */
+   private static int parseParam(Object value, int defaultValue, int min, int max) {
+       if (value instanceof Number n) return Math.max(min, Math.min(max, n.intValue()));
+       if (value == null || value.toString().isBlank()) return defaultValue;
+       try {
+           return Math.max(min, Math.min(max, Integer.parseInt(value.toString().trim())));
+       } catch (NumberFormatException e) {
+           return defaultValue;
+       }
+   }
+
    private String getOpenAIKey() {
        return (cfgKey == null || cfgKey.isBlank())
            ? System.getenv("OPENAI_API_KEY")
            : cfgKey;
    }
 
-   private ResponseEntity<?> callOpenAI(String prompt, HttpHeaders hdr) {
+   private ResponseEntity<?> callOpenAI(String prompt) {
        String key = getOpenAIKey();
        if (key.isBlank()) {
            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
@@ -152,8 +496,9 @@ public class SearchController {
        h.setContentType(MediaType.APPLICATION_JSON);
        h.setBearerAuth(key);
 
+       String model = "gpt-4o-mini";
        Map<String,Object> req = Map.of(
-         "model","gpt-4o-mini",
+         "model",model,
          "messages", List.of(
            Map.of("role","system","content","You are a helpful assistant."),
            Map.of("role","user","content",prompt)
@@ -162,21 +507,42 @@ public class SearchController {
          "max_tokens",512
        );
 
-       try {
+       Timer.Sample sample = Timer.start(meterRegistry);
+       String outcome = "error";
+       Observation observation = Observation.createNotStarted("stage.llm", observations)
+           .contextualName("llm chat")
+           .lowCardinalityKeyValue("model", model)
+           .start();
+       try (Observation.Scope scope = observation.openScope()) {
            @SuppressWarnings("unchecked")
            Map<?,?> resp = rest.postForObject(
-             "https://api.openai.com/v1/chat/completions",
+             openAiUrl,
              new HttpEntity<>(req, h),
              Map.class
            );
            @SuppressWarnings("unchecked")
            Map<String,Object> choice = (Map<String,Object>)((List<?>)resp.get("choices")).get(0);
            String ans = (String)((Map<?,?>)choice.get("message")).get("content");
+           outcome = "success";
+           if (resp.get("usage") instanceof Map<?,?> usage) {
+               countTokens(model, "prompt", usage.get("prompt_tokens"));
+               countTokens(model, "completion", usage.get("completion_tokens"));
+           }
            return ResponseEntity.ok(Map.of("answer", ans.trim(), "sources", List.of()));
        } catch (Exception e) {
-           e.printStackTrace();
+           log.warn("LLM call to {} failed", model, e);
+           observation.error(e);
            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                                 .body(Map.of("error","AI failed: "+e.getMessage()));
+       } finally {
+           observation.stop();
+           sample.stop(meterRegistry.timer("llm.requests", "model", model, "outcome", outcome));
+       }
+   }
+
+   private void countTokens(String model, String type, Object tokens) {
+       if (tokens instanceof Number n) {
+           meterRegistry.counter("llm.tokens", "model", model, "type", type).increment(n.doubleValue());
        }
    }
 }
\ No newline at end of file
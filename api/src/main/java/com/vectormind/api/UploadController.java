@@ -1,16 +1,14 @@
 package com.vectormind.api;
 
-import com.vectormind.api.config.WeaviateConfig;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
-import org.springframework.beans.factory.annotation.Value;
+import com.vectormind.api.controller.ContentTagCache;
+import com.vectormind.api.weaviate.DocumentSummary;
+import com.vectormind.api.weaviate.WeaviateClient;
 import org.springframework.http.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.client.RestTemplate;
 
 import java.io.*;
 import java.net.http.HttpClient;
@@ -26,23 +24,21 @@ import java.util.*;
 @RequestMapping("/api")
 public class UploadController {
 
-    private final RestTemplate restTemplate;
     private final DocumentReferenceRepository documentReferenceRepository;
-    private final WeaviateConfig weaviateConfig;
-
-    @Value("${weaviate.api-key:}")
-    private String weaviateApiKey;
-
-    private static final int TOKENS_PER_CHUNK = 400;
+    private final WeaviateClient weaviate;
+    private final IngestionService ingestion;
+    private final ContentTagCache contentTags;
 
     public UploadController(
-        RestTemplate restTemplate,
         DocumentReferenceRepository documentReferenceRepository,
-        WeaviateConfig weaviateConfig
+        WeaviateClient weaviate,
+        IngestionService ingestion,
+        ContentTagCache contentTags
     ) {
-        this.restTemplate = restTemplate;
         this.documentReferenceRepository = documentReferenceRepository;
-        this.weaviateConfig = weaviateConfig;
+        this.weaviate = weaviate;
+        this.ingestion = ingestion;
+        this.contentTags = contentTags;
     }
 
     private String getUserId(Authentication auth) {
@@ -68,9 +64,7 @@ public class UploadController {
             // 1) extract raw text
             String rawText;
             if ("pdf".equals(ext)) {
-                try (PDDocument pdf = PDDocument.load(file.getInputStream())) {
-                    rawText = new PDFTextStripper().getText(pdf);
-                }
+                rawText = ingestion.extractPdfText(file.getInputStream(), "upload");
             } else if ("txt".equals(ext)) {
                 rawText = new String(file.getBytes(), StandardCharsets.UTF_8);
             } else {
@@ -81,9 +75,10 @@ public class UploadController {
             Path path = Paths.get("uploads", docId + ".pdf");
             Files.createDirectories(path.getParent());
             Files.copy(file.getInputStream(), path, StandardCopyOption.REPLACE_EXISTING);
+            contentTags.prime(path);
 
             // 3) ingest into Weaviate
-            ingestText(rawText, filename, docId, workspace, userId, "upload");
+            int chunkCount = ingestion.ingest(rawText, filename, docId, workspace, userId, "upload").chunks();
 
             // 4) save metadata
             DocumentReference ref = new DocumentReference(
@@ -94,7 +89,6 @@ public class UploadController {
             documentReferenceRepository.save(ref);
 
             int wordCount  = rawText.split("\\s+").length;
-            int chunkCount = chunkText(rawText, TOKENS_PER_CHUNK).size();
 
             return ResponseEntity.ok(Map.of(
                 "docId",  docId,
@@ -129,13 +123,12 @@ public class UploadController {
         Path path   = Paths.get("uploads", docId + ".pdf");
         Files.createDirectories(path.getParent());
         Files.write(path, bytes);
+        contentTags.prime(path);
 
         String rawText;
-        try (PDDocument pdf = PDDocument.load(bytes)) {
-            rawText = new PDFTextStripper().getText(pdf);
-        }
+        rawText = ingestion.extractPdfText(bytes, "external");
 
-        ingestText(rawText, name != null ? name : url, docId, workspace, userId, "drive");
+        ingestion.ingest(rawText, name != null ? name : url, docId, workspace, userId, "drive");
 
         DocumentReference ref = new DocumentReference(
             docId, userId, name != null ? name : url, docId, "drive"
@@ -148,7 +141,7 @@ public class UploadController {
     }
 
     @GetMapping("/documents")
-    public List<Map<String,Object>> listDocs(Authentication auth) {
+    public List<DocumentSummary> listDocs(Authentication auth) {
         String userId = getUserId(auth);
         String gql = """
             {
@@ -163,109 +156,11 @@ public class UploadController {
             }
         """.formatted(userId.replace("\"","\\\""));
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        if (weaviateApiKey != null && !weaviateApiKey.isEmpty()) {
-            headers.set("Authorization", "Bearer " + weaviateApiKey);
-        }
-
         try {
-            @SuppressWarnings("unchecked")
-            Map<?,?> res = restTemplate.postForObject(
-                weaviateConfig.getGraphQLEndpoint(),
-                new HttpEntity<>(Map.of("query",gql), headers),
-                Map.class
-            );
-
-            if (res == null || res.get("data")==null) return List.of();
-            @SuppressWarnings("unchecked")
-            List<Map<String,Object>> docs = (List<Map<String,Object>>)
-              ((Map<?,?>)((Map<?,?>)res.get("data")).get("Get")).get("Document");
-            return docs!=null ? docs : List.of();
+            return weaviate.get(gql, "Document", DocumentSummary.READER);
         } catch (Exception e) {
             e.printStackTrace();
             return List.of();
         }
     }
-
-    private void ingestText(
-        String rawText,
-        String filename,
-        String docId,
-        String workspace,
-        String userId,
-        String source
-    ) {
-        try {
-            List<String> chunks = chunkText(rawText, TOKENS_PER_CHUNK);
-            
-            // Skip embedding service - use random vectors temporarily
-            List<List<Double>> vectors = new ArrayList<>();
-            for (int i = 0; i < chunks.size(); i++) {
-                List<Double> vector = new ArrayList<>();
-                for (int j = 0; j < 384; j++) {
-                    vector.add(Math.random());
-                }
-                vectors.add(vector);
-            }
-
-            HttpHeaders weavHdr = new HttpHeaders();
-            weavHdr.setContentType(MediaType.APPLICATION_JSON);
-            if (weaviateApiKey != null && !weaviateApiKey.isEmpty()) {
-                weavHdr.set("Authorization", "Bearer " + weaviateApiKey);
-            }
-
-            for (int i = 0; i < chunks.size(); i++) {
-                Map<String,Object> obj = Map.of(
-                  "class","Chunk",
-                  "id", UUID.randomUUID().toString(),
-                  "properties", Map.of(
-                    "docId",  docId,
-                    "text",   chunks.get(i),
-                    "page",   i+1,
-                    "userId", userId
-                  ),
-                  "vector", vectors.get(i)
-                );
-                restTemplate.postForEntity(
-                  weaviateConfig.getObjectsEndpoint(),
-                  new HttpEntity<>(obj, weavHdr),
-                  String.class
-                );
-            }
-
-            restTemplate.postForEntity(
-              weaviateConfig.getObjectsEndpoint(),
-              new HttpEntity<>(Map.of(
-                "class","Document",
-                "id",    docId,
-                "properties", Map.of(
-                  "title",     filename,
-                  "pages",     chunks.size(),
-                  "processed", true,
-                  "workspace", workspace,
-                  "userId",    userId,
-                  "source",    source
-                )
-              ), weavHdr),
-              String.class
-            );
-            
-            System.out.println("[UploadController] Successfully ingested " + chunks.size() + " chunks for " + filename);
-        } catch (Exception e) {
-            System.err.println("[UploadController] Ingestion failed: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
-
-    private List<String> chunkText(String text, int maxTokens) {
-        String[] words = text.split("\\s+");
-        List<String> out = new ArrayList<>();
-        for (int i = 0; i < words.length; i += maxTokens) {
-            out.add(String.join(" ",
-              Arrays.copyOfRange(words, i, Math.min(i+maxTokens, words.length))
-            ));
-        }
-        return out;
-    }
-}
\ No newline at end of file
+}
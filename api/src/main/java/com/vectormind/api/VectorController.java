@@ -1,5 +1,6 @@
 package com.vectormind.api;
 
+import com.vectormind.api.vector.Vector;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.client.RestTemplate;
@@ -10,27 +11,26 @@ import java.util.*;
 public class VectorController {
 
     private final RestTemplate restTemplate = new RestTemplate();
+    private final EmbeddingService embeddingService;
+
+    public VectorController(EmbeddingService embeddingService) {
+        this.embeddingService = embeddingService;
+    }
 
     @PostMapping("/store")
     public ResponseEntity<?> storeVector(@RequestBody Map<String, String> payload) {
         String text = payload.get("text");
 
         // Send to embedder
-        Map<String, Object> request = new HashMap<>();
-        request.put("texts", List.of(text));
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(request, headers);
-
-        ResponseEntity<Map> response = restTemplate.postForEntity("http://localhost:5001/embed", entity, Map.class);
-        if (!response.getStatusCode().is2xxSuccessful()) {
+        Vector vector;
+        try {
+            vector = embeddingService.embedRemote(List.of(text)).get(0);
+        } catch (Exception e) {
             return ResponseEntity.status(500).body("Embedding failed");
         }
 
-        List<List<Double>> embeddings = (List<List<Double>>) response.getBody().get("embeddings");
-        List<Double> vector = embeddings.get(0);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
 
         // Store in Weaviate
         Map<String, Object> weaviatePayload = Map.of(
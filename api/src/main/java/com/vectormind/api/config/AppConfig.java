@@ -1,15 +1,74 @@
 package com.vectormind.api.config;
 
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
 @Configuration
 public class AppConfig {
 
-    /** Single, shared RestTemplate for all HTTP calls. */
+    /** Shared RestTemplate for calls without a dedicated client below. */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    @Primary
+    public RestTemplate restTemplate(ObservationRegistry observations) {
+        RestTemplate rest = new RestTemplate();
+        rest.setObservationRegistry(observations);
+        return rest;
+    }
+
+    /*
+     * One client per external dependency, each behind its own circuit breaker
+     * and bulkhead (configured under resilience4j.* by name), so a slow
+     * Weaviate cannot hold the threads that OpenAI or the embedder need.
+     * Every client records an http.client.requests span and passes the
+     * trace on in a traceparent header. They run on the JDK HttpClient, which
+     * unlike HttpURLConnection can send PATCH.
+     */
+
+    @Bean
+    public RestTemplate weaviateRestTemplate(CircuitBreakerRegistry breakers, BulkheadRegistry bulkheads,
+                                             ObservationRegistry observations,
+                                             @Value("${http.weaviate.connect-timeout-ms:2000}") int connectTimeout,
+                                             @Value("${http.weaviate.read-timeout-ms:10000}") int readTimeout) {
+        return guarded("weaviate", breakers, bulkheads, observations, connectTimeout, readTimeout);
+    }
+
+    @Bean
+    public RestTemplate openAiRestTemplate(CircuitBreakerRegistry breakers, BulkheadRegistry bulkheads,
+                                           ObservationRegistry observations,
+                                           @Value("${http.openai.connect-timeout-ms:2000}") int connectTimeout,
+                                           @Value("${http.openai.read-timeout-ms:60000}") int readTimeout) {
+        return guarded("openai", breakers, bulkheads, observations, connectTimeout, readTimeout);
+    }
+
+    @Bean
+    public RestTemplate embedderRestTemplate(CircuitBreakerRegistry breakers, BulkheadRegistry bulkheads,
+                                             ObservationRegistry observations,
+                                             @Value("${http.embedder.connect-timeout-ms:2000}") int connectTimeout,
+                                             @Value("${http.embedder.read-timeout-ms:30000}") int readTimeout) {
+        return guarded("embedder", breakers, bulkheads, observations, connectTimeout, readTimeout);
+    }
+
+    private static RestTemplate guarded(String name, CircuitBreakerRegistry breakers, BulkheadRegistry bulkheads,
+                                        ObservationRegistry observations, int connectTimeout, int readTimeout) {
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(connectTimeout))
+            .build();
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(client);
+        factory.setReadTimeout(Duration.ofMillis(readTimeout));
+        RestTemplate rest = new RestTemplate(factory);
+        rest.setObservationRegistry(observations);
+        rest.getInterceptors().add(new GuardedCallInterceptor(breakers.circuitBreaker(name), bulkheads.bulkhead(name)));
+        return rest;
     }
 }
@@ -0,0 +1,23 @@
+package com.vectormind.api.config;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Wraps worker pools so each task runs with the context of the thread that
+ * submitted it. The context includes the current observation, so spans the
+ * task opens join the submitter's trace.
+ */
+public final class ContextExecutors {
+
+    private static final ContextSnapshotFactory SNAPSHOTS = ContextSnapshotFactory.builder().build();
+
+    private ContextExecutors() {
+    }
+
+    public static ExecutorService propagating(ExecutorService executor) {
+        return ContextExecutorService.wrap(executor, SNAPSHOTS::captureAll);
+    }
+}
@@ -0,0 +1,180 @@
+package com.vectormind.api.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs every call of one RestTemplate through that dependency's circuit
+ * breaker and bulkhead. An open breaker or a full bulkhead fails the call at
+ * once (CallNotPermittedException / BulkheadFullException) instead of
+ * parking another thread on a dependency that is already struggling.
+ * I/O errors, including those while reading the body, and 5xx responses
+ * count as failures.
+ *
+ * <p>The call holds its bulkhead permit until the response is closed, so a
+ * slow body read counts against the limit, and the breaker records the
+ * outcome and duration at that point. RestTemplate closes every response
+ * once it has been extracted.
+ */
+class GuardedCallInterceptor implements ClientHttpRequestInterceptor {
+
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    GuardedCallInterceptor(CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        circuitBreaker.acquirePermission();
+        try {
+            bulkhead.acquirePermission();
+        } catch (BulkheadFullException e) {
+            circuitBreaker.releasePermission();
+            throw e;
+        }
+
+        long start = circuitBreaker.getCurrentTimestamp();
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException e) {
+            circuitBreaker.onError(circuitBreaker.getCurrentTimestamp() - start, circuitBreaker.getTimestampUnit(), e);
+            bulkhead.onComplete();
+            throw e;
+        }
+        return new GuardedResponse(response, start);
+    }
+
+    /** Releases the permit and records the call once, when the response is closed. */
+    private final class GuardedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final long start;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile Throwable failure;
+        private InputStream body;
+
+        GuardedResponse(ClientHttpResponse delegate, long start) {
+            this.delegate = delegate;
+            this.start = start;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            try {
+                return delegate.getStatusCode();
+            } catch (IOException | RuntimeException e) {
+                failure = e;
+                throw e;
+            }
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                try {
+                    body = new FailureRecordingStream(delegate.getBody());
+                } catch (IOException | RuntimeException e) {
+                    failure = e;
+                    throw e;
+                }
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            if (!closed.compareAndSet(false, true)) return;
+            try {
+                delegate.close();
+            } finally {
+                record();
+                bulkhead.onComplete();
+            }
+        }
+
+        private void record() {
+            long duration = circuitBreaker.getCurrentTimestamp() - start;
+            Throwable error = failure;
+            if (error == null) {
+                try {
+                    HttpStatusCode status = delegate.getStatusCode();
+                    if (status.is5xxServerError()) {
+                        error = new HttpServerErrorException(status);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    error = e;
+                }
+            }
+            if (error != null) {
+                circuitBreaker.onError(duration, circuitBreaker.getTimestampUnit(), error);
+            } else {
+                circuitBreaker.onSuccess(duration, circuitBreaker.getTimestampUnit());
+            }
+        }
+
+        private final class FailureRecordingStream extends FilterInputStream {
+
+            FailureRecordingStream(InputStream in) {
+                super(in);
+            }
+
+            @Override
+            public int read() throws IOException {
+                try {
+                    return super.read();
+                } catch (IOException e) {
+                    failure = e;
+                    throw e;
+                }
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                try {
+                    return in.read(b, off, len);
+                } catch (IOException e) {
+                    failure = e;
+                    throw e;
+                }
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                try {
+                    return super.skip(n);
+                } catch (IOException e) {
+                    failure = e;
+                    throw e;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.vectormind.api.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Configuration
+public class MetricsConfig {
+
+    public static final String USER_TAG = "user";
+
+    /**
+     * Keeps the "user" tag from multiplying series without bound. The first
+     * {@code maxValues} distinct users keep their own value, and later ones
+     * report as "other". Values are hashed, because /actuator/prometheus is
+     * scraped without authentication on the management port.
+     */
+    @Bean
+    public MeterFilter userTagCardinalityGuard(@Value("${metrics.user-tag.max-values:50}") int maxValues) {
+        Set<String> admitted = ConcurrentHashMap.newKeySet();
+        return new MeterFilter() {
+            @Override
+            public Meter.Id map(Meter.Id id) {
+                String user = id.getTag(USER_TAG);
+                if (user == null) return id;
+                String value = pseudonym(user);
+                if (!admitted.contains(value)) {
+                    if (admitted.size() < maxValues) admitted.add(value);
+                    else value = "other";
+                }
+                List<Tag> tags = new ArrayList<>();
+                for (Tag tag : id.getTagsAsIterable()) {
+                    tags.add(USER_TAG.equals(tag.getKey()) ? Tag.of(USER_TAG, value) : tag);
+                }
+                return id.replaceTags(tags);
+            }
+        };
+    }
+
+    private static String pseudonym(String userId) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(userId.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
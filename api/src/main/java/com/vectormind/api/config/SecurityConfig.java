@@ -1,13 +1,27 @@
 package com.vectormind.api.config;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -17,8 +31,45 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    /** Granted to the subjects listed in admin.user-ids; required for /api/admin/**. */
+    public static final String ADMIN_AUTHORITY = "ROLE_ADMIN";
+
+    /**
+     * The one decoder for bearer tokens, shared by the filter chain,
+     * TokenSubjectCache and StartupWarmup. The key set is fetched on the
+     * first decode and cached.
+     */
+    @Bean
+    public JwtDecoder jwtDecoder(
+        @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}") String jwkSetUri,
+        @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri
+    ) {
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withJwkSetUri(jwkSetUri).build();
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuerUri));
+        return decoder;
+    }
+
+    /**
+     * Scope authorities as usual, plus ADMIN_AUTHORITY for the Clerk user ids
+     * in admin.user-ids. Nobody is an admin when the list is empty.
+     */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public JwtAuthenticationConverter jwtAuthenticationConverter(@Value("${admin.user-ids:}") Set<String> adminUserIds) {
+        JwtGrantedAuthoritiesConverter scopes = new JwtGrantedAuthoritiesConverter();
+        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+        converter.setJwtGrantedAuthoritiesConverter(jwt -> {
+            Collection<GrantedAuthority> authorities = new ArrayList<>(scopes.convert(jwt));
+            if (jwt.getSubject() != null && adminUserIds.contains(jwt.getSubject())) {
+                authorities.add(new SimpleGrantedAuthority(ADMIN_AUTHORITY));
+            }
+            return authorities;
+        });
+        return converter;
+    }
+
+    @Bean
+    public SecurityFilterChain filterChain(HttpSecurity http, JwtDecoder jwtDecoder,
+                                           JwtAuthenticationConverter jwtAuthenticationConverter) throws Exception {
         http
             // CORS configuration
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -33,6 +84,10 @@ public class SecurityConfig {
             
             // Authorization rules
             .authorizeHttpRequests(auth -> auth
+                // Streamed responses (/api/search/batch) finish on an async
+                // dispatch; the request was already authorized on its way in
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // Allow OPTIONS requests for CORS pre-flight
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                 
@@ -43,6 +98,10 @@ public class SecurityConfig {
                     "/test",
                     "/debug/all"
                 ).permitAll()
+
+                // Actuator is served on management.server.port, which is not
+                // exposed publicly; health checks and scrapers there carry no token
+                .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
                 
                 // Static resources and demo endpoints
                 .requestMatchers(
@@ -61,6 +120,9 @@ public class SecurityConfig {
                 // Test endpoint
                 .requestMatchers("/api/hello").permitAll()
                 
+                // Purge, backfill and chunk GC act on every user's data
+                .requestMatchers("/api/admin/**").hasAuthority(ADMIN_AUTHORITY)
+
                 // Protected API endpoints (require authentication)
                 .requestMatchers("/api/**").authenticated()
                 .requestMatchers("/api/pdf/test").permitAll()
@@ -73,7 +135,8 @@ public class SecurityConfig {
             // OAuth2 Resource Server with JWT
             .oauth2ResourceServer(oauth2 -> oauth2
                 .jwt(jwt -> jwt
-                    .jwkSetUri("https://divine-duckling-17.clerk.accounts.dev/.well-known/jwks.json")
+                    .decoder(jwtDecoder)
+                    .jwtAuthenticationConverter(jwtAuthenticationConverter)
                 )
             );
         
@@ -102,7 +165,12 @@ public class SecurityConfig {
         // Exposed headers
         configuration.setExposedHeaders(Arrays.asList(
             "Location",
-            "Authorization"
+            "Authorization",
+            "Accept-Ranges",
+            "Content-Range",
+            "Content-Length",
+            "ETag",
+            "Last-Modified"
         ));
         
         // Allow credentials
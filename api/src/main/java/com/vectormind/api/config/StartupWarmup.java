@@ -0,0 +1,106 @@
+package com.vectormind.api.config;
+
+import com.vectormind.api.DriveSyncService;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.FontMappers;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Pays the one-off costs of the first upload, the first authenticated
+ * request and the first Drive call on a background thread once the app is
+ * ready, instead of inside those requests. It builds PDFBox's font cache and
+ * loads its text-extraction classes, fetches the JWKS into the shared
+ * JwtDecoder, and creates the Drive HTTP transport. Failures are logged and
+ * left for the real request to retry.
+ */
+@Component
+public class StartupWarmup implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+
+    /** Well-formed, but signed by no key in the set: decoding it fetches the JWKS and fails. */
+    private static final String PROBE_TOKEN = base64Url("{\"alg\":\"RS256\",\"kid\":\"startup-warmup\"}")
+        + "." + base64Url("{\"sub\":\"startup-warmup\"}") + "." + base64Url("warmup");
+
+    private final JwtDecoder jwtDecoder;
+    private final DriveSyncService driveSync;
+    private final boolean enabled;
+
+    public StartupWarmup(JwtDecoder jwtDecoder,
+                         DriveSyncService driveSync,
+                         @Value("${startup.prewarm.enabled:true}") boolean enabled) {
+        this.jwtDecoder = jwtDecoder;
+        this.driveSync = driveSync;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!enabled) return;
+        Map<String, Task> tasks = new LinkedHashMap<>();
+        tasks.put("jwks", this::fetchJwks);
+        tasks.put("pdfbox", StartupWarmup::loadPdfBox);
+        tasks.put("drive-transport", driveSync::transport);
+
+        Thread thread = new Thread(() -> tasks.forEach((name, task) -> {
+            long start = System.nanoTime();
+            try {
+                task.run();
+                log.info("Prewarmed {} in {} ms", name, (System.nanoTime() - start) / 1_000_000);
+            } catch (Exception e) {
+                log.warn("Could not prewarm {}: {}", name, e.toString());
+            }
+        }), "startup-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private interface Task {
+        void run() throws Exception;
+    }
+
+    private void fetchJwks() {
+        try {
+            jwtDecoder.decode(PROBE_TOKEN);
+        } catch (BadJwtException expected) {
+            // no key matches the probe's kid; the key set is cached all the same
+        }
+    }
+
+    /** Builds the system font cache and runs one extraction, as the first upload would. */
+    private static void loadPdfBox() throws Exception {
+        FontMappers.instance().getFontBoxFont(PDType1Font.HELVETICA.getBaseFont(), null);
+        try (PDDocument doc = new PDDocument()) {
+            PDPage page = new PDPage();
+            doc.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(doc, page)) {
+                content.beginText();
+                content.setFont(PDType1Font.HELVETICA, 12);
+                content.newLineAtOffset(72, 720);
+                content.showText("warmup");
+                content.endText();
+            }
+            new PDFTextStripper().getText(doc);
+        }
+    }
+
+    private static String base64Url(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -6,21 +6,17 @@ import org.springframework.web.servlet.config.annotation.*;
 @Configuration
 public class StaticResourceConfig implements WebMvcConfigurer {
 
-  @Override
-  public void addResourceHandlers(ResourceHandlerRegistry registry) {
-    // Map /api/pdf/** to the uploads/ directory
-    registry.addResourceHandler("/api/pdf/**")
-            .addResourceLocations("file:uploads/")
-            .setCachePeriod(3600); // Cache for 1 hour
-  }
-  
+  // /api/pdf/** is served only by PdfController, which checks ownership and
+  // handles ranges, validators and caching itself.
+
   @Override
   public void addCorsMappings(CorsRegistry registry) {
     // Add CORS support for PDF endpoints
     registry.addMapping("/api/pdf/**")
             .allowedOrigins("https://dociq.tech", "http://localhost:5173", "http://localhost:3000")
-            .allowedMethods("GET", "OPTIONS")
+            .allowedMethods("GET", "HEAD", "OPTIONS")
             .allowedHeaders("*")
+            .exposedHeaders("Accept-Ranges", "Content-Range", "Content-Length", "ETag", "Last-Modified")
             .allowCredentials(true);
   }
-}
\ No newline at end of file
+}
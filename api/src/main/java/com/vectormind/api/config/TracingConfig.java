@@ -0,0 +1,54 @@
+package com.vectormind.api.config;
+
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.exporter.otlp.http.trace.OtlpHttpSpanExporter;
+import io.opentelemetry.exporter.otlp.http.trace.OtlpHttpSpanExporterBuilder;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.tracing.otlp.OtlpProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.util.Locale;
+
+/**
+ * Span export. Spans go to an OTLP collector when
+ * management.otlp.tracing.endpoint is set. With tracing.log-spans=true they
+ * are also written to the application log, for analysis without a collector.
+ *
+ * <p>Both settings are read when the beans are created, not through bean
+ * conditions. The startup profile's AOT build evaluates conditions at build
+ * time, which would otherwise fix these switches in the shipped image.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public SpanExporter loggingSpanExporter(@Value("${tracing.log-spans:false}") boolean logSpans) {
+        return logSpans ? LoggingSpanExporter.create() : SpanExporter.composite();
+    }
+
+    /**
+     * Exports to management.otlp.tracing.endpoint unless Boot already created
+     * its own exporter, which it does when the endpoint was set while the
+     * context was built (always, without AOT).
+     */
+    @Bean
+    public SpanExporter otlpSpanExporter(ObjectProvider<OtlpProperties> properties,
+                                         ObjectProvider<OtlpHttpSpanExporter> bootExporter) {
+        OtlpProperties otlp = properties.getIfAvailable();
+        if (otlp == null || !StringUtils.hasText(otlp.getEndpoint()) || bootExporter.getIfAvailable() != null) {
+            return SpanExporter.composite();
+        }
+        // the Compression enum is package-private; its constants are NONE and GZIP
+        Object compression = otlp.getCompression();
+        OtlpHttpSpanExporterBuilder builder = OtlpHttpSpanExporter.builder()
+            .setEndpoint(otlp.getEndpoint())
+            .setTimeout(otlp.getTimeout())
+            .setCompression(compression.toString().toLowerCase(Locale.ROOT));
+        otlp.getHeaders().forEach(builder::addHeader);
+        return builder.build();
+    }
+}
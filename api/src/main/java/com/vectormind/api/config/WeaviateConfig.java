@@ -45,4 +45,8 @@ public class WeaviateConfig {
     public String getObjectsEndpoint() {
         return cleanedUrl + "/v1/objects";
     }
+
+    public String getBatchObjectsEndpoint() {
+        return cleanedUrl + "/v1/batch/objects";
+    }
 }
\ No newline at end of file
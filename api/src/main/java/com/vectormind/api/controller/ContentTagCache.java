@@ -0,0 +1,150 @@
+package com.vectormind.api.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * ETags for served files. A new file version first gets a weak tag built
+ * from its size and modification time, so the first request never waits on
+ * reading the file. A SHA-256 of the content is computed in the background
+ * and replaces it as a strong tag, which is what If-Range needs. Tags are
+ * remembered per path and rebuilt only when the size or modification time
+ * changes.
+ */
+@Component
+public class ContentTagCache implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentTagCache.class);
+
+    /** Validators for one version of a file. */
+    public record ContentTag(String etag, long lastModified, long length) {
+
+        /** Weak tags only support weak comparison: fine for If-None-Match, never for If-Range. */
+        public boolean weak() {
+            return etag.startsWith("W/");
+        }
+
+        boolean describes(long lastModified, long length) {
+            return this.lastModified == lastModified && this.length == length;
+        }
+    }
+
+    private record Version(Path file, long lastModified, long length) {}
+
+    private final Cache<Path, ContentTag> tags = Caffeine.newBuilder()
+        .maximumSize(10_000)
+        .recordStats()
+        .build();
+
+    /** Versions whose hash is queued or running, so each is hashed once. */
+    private final Set<Version> hashing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService hasher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "content-tag-hasher");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** Hit, miss, load and eviction counts as cache.* meters tagged cache=content-tags. */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, tags, "content-tags");
+    }
+
+    /** The strong tag once it has been computed, a weak one until then. */
+    public ContentTag tagFor(Path file) throws IOException {
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        long length       = Files.size(file);
+
+        ContentTag cached = tags.getIfPresent(file);
+        if (cached != null && cached.describes(lastModified, length)) {
+            return cached;
+        }
+        ContentTag provisional = new ContentTag(weakTag(lastModified, length), lastModified, length);
+        tags.put(file, provisional);
+        Version version = new Version(file, lastModified, length);
+        if (hashing.add(version)) {
+            hasher.execute(() -> hashInBackground(version));
+        }
+        return provisional;
+    }
+
+    /** Starts hashing a freshly written file, so its first download already has the strong tag. */
+    public void prime(Path file) {
+        try {
+            tagFor(file);
+        } catch (IOException e) {
+            log.debug("Could not prime ETag for {}: {}", file, e.toString());
+        }
+    }
+
+    public void invalidate(Path file) {
+        tags.invalidate(file);
+    }
+
+    public void clear() {
+        tags.invalidateAll();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hasher.shutdownNow();
+    }
+
+    /** Installs the strong tag unless the file changed, or was invalidated, meanwhile. */
+    private void hashInBackground(Version version) {
+        try {
+            String etag = hash(version.file());
+            if (Files.getLastModifiedTime(version.file()).toMillis() != version.lastModified()
+                    || Files.size(version.file()) != version.length()) {
+                return;
+            }
+            ContentTag strong = new ContentTag(etag, version.lastModified(), version.length());
+            tags.asMap().computeIfPresent(version.file(),
+                (file, current) -> current.describes(version.lastModified(), version.length()) ? strong : current);
+        } catch (IOException e) {
+            log.debug("Could not hash {}; it keeps its weak ETag: {}", version.file(), e.toString());
+        } finally {
+            hashing.remove(version);
+        }
+    }
+
+    private static String weakTag(long lastModified, long length) {
+        return "W/\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    private static String hash(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            byte[] buf = new byte[64 * 1024];
+            while (in.read(buf) != -1) {
+                // digest is updated as the stream is read
+            }
+        }
+        return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest()) + "\"";
+    }
+}
@@ -0,0 +1,67 @@
+package com.vectormind.api.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a region of a file to the response. When Tomcat offers sendfile the
+ * region is handed to the connector, which has the kernel copy it straight
+ * from the page cache to the socket. Otherwise FileChannel.transferTo streams
+ * it through a channel wrapped around the servlet output stream; that wrapper
+ * copies each chunk through a small heap array, so memory stays bounded but
+ * the bytes do pass through the heap.
+ */
+@Component
+public class FileRegionSender {
+
+    static final String SENDFILE_SUPPORT  = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START    = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END      = "org.apache.tomcat.sendfile.end";
+
+    /** Below this size the connector hand-off costs more than it saves (Tomcat's own default). */
+    static final long SENDFILE_MIN_BYTES = 48 * 1024;
+
+    /** Sends bytes [start, start + length) of the file; headers must already be set. */
+    public void send(HttpServletRequest request, HttpServletResponse response,
+                     Path file, long start, long length) throws IOException {
+        if (length >= SENDFILE_MIN_BYTES && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+        transfer(file, start, length, Channels.newChannel(response.getOutputStream()));
+        response.flushBuffer();
+    }
+
+    /**
+     * Copies the region to the target channel, looping until transferTo has
+     * moved all of it. Throws if the file ends first, since the caller has
+     * already promised the full length in Content-Length.
+     */
+    public static long transfer(Path file, long start, long length, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long position = start;
+            long end = start + length;
+            while (position < end) {
+                long sent = channel.transferTo(position, end - position, target);
+                if (sent <= 0) {
+                    throw new EOFException("Sent " + (position - start) + " of " + length
+                            + " bytes from " + file + "; it is shorter than expected");
+                }
+                position += sent;
+            }
+            return length;
+        }
+    }
+}
@@ -1,37 +1,59 @@
 package com.vectormind.api.controller; // Make sure this matches your package structure
 
 import com.vectormind.api.DocumentReferenceRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.core.io.Resource;
 import org.springframework.http.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
-import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 
-import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
 
 @Controller // Changed from @RestController to be explicit
-@ResponseBody 
-@CrossOrigin(origins = {"https://dociq.tech", "https://api.dociq.tech", "http://localhost:5173", "http://localhost:3000"}, 
+@ResponseBody
+@CrossOrigin(origins = {"https://dociq.tech", "https://api.dociq.tech", "http://localhost:5173", "http://localhost:3000"},
              allowCredentials = "true",
-             methods = {RequestMethod.GET, RequestMethod.OPTIONS})
+             methods = {RequestMethod.GET, RequestMethod.HEAD, RequestMethod.OPTIONS},
+             exposedHeaders = {"Accept-Ranges", "Content-Range", "Content-Length", "ETag", "Last-Modified"})
 public class PdfController {
 
+    private static final Logger log = LoggerFactory.getLogger(PdfController.class);
+
+    /**
+     * Browsers may keep the bytes but must revalidate each use. A docId's file
+     * can be deleted or re-ingested, and the strong ETag makes the check a
+     * cheap 304.
+     */
+    private static final String REVALIDATE_CACHE = "private, no-cache";
+
+    /** resolveRange's answer for a Range header that does not parse, which RFC 9110 says to ignore. */
+    private static final long[] IGNORE_RANGE = new long[0];
+
     private final DocumentReferenceRepository documentReferenceRepository;
+    private final ContentTagCache contentTags;
+    private final FileRegionSender fileSender;
+    private final TokenSubjectCache tokenSubjects;
     private final Path uploadDir = Paths.get("uploads");
-    
-    @Autowired(required = false) // Make optional to avoid startup issues
-    private JwtDecoder jwtDecoder;
 
     @Autowired
-    public PdfController(DocumentReferenceRepository documentReferenceRepository) {
+    public PdfController(DocumentReferenceRepository documentReferenceRepository,
+                         ContentTagCache contentTags,
+                         FileRegionSender fileSender,
+                         TokenSubjectCache tokenSubjects) {
         this.documentReferenceRepository = documentReferenceRepository;
+        this.contentTags = contentTags;
+        this.fileSender = fileSender;
+        this.tokenSubjects = tokenSubjects;
     }
 
     private String getUserId(Authentication auth) {
@@ -43,25 +65,22 @@ public class PdfController {
     }
 
     @GetMapping("/api/pdf/{docId}")  // Full path including /api
-    public ResponseEntity<Resource> getPdf(
+    public ResponseEntity<?> getPdf(
             @PathVariable String docId,
             @RequestParam(required = false) String token,
-            Authentication auth) {
-        
+            @RequestHeader HttpHeaders requestHeaders,
+            Authentication auth,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+
         try {
             String userId = getUserId(auth);
-            
-            // If no auth and token provided, try to decode it
-            if (userId == null && token != null && !token.isEmpty() && jwtDecoder != null) {
-                try {
-                    Jwt jwt = jwtDecoder.decode(token);
-                    userId = jwt.getSubject();
-                } catch (Exception e) {
-                    // Log but don't fail - token might be invalid
-                    System.err.println("Failed to decode token: " + e.getMessage());
-                }
+
+            // If no auth and token provided, resolve it (verified once per token)
+            if (userId == null && token != null && !token.isEmpty()) {
+                userId = tokenSubjects.resolve(token);
             }
-            
+
             // For now, if still no userId, return unauthorized
             if (userId == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -77,37 +96,141 @@ public class PdfController {
 
             // Construct the file path
             Path filePath = uploadDir.resolve(docId + ".pdf");
-            File file = filePath.toFile();
-            
-            if (!file.exists()) {
-                System.err.println("File not found: " + filePath);
+
+            if (!Files.isRegularFile(filePath)) {
+                log.warn("File not found: {}", filePath);
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(null);
             }
 
-            // Create resource
-            Resource resource = new FileSystemResource(file);
+            ContentTagCache.ContentTag tag = contentTags.tagFor(filePath);
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setETag(tag.etag());
+            headers.setLastModified(tag.lastModified());
+            headers.setCacheControl(REVALIDATE_CACHE);
+            headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+            // Conditional GET: the client already has this exact version
+            if (isNotModified(requestHeaders, tag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+            }
+
+            headers.setContentType(MediaType.APPLICATION_PDF);
+            headers.set(HttpHeaders.CONTENT_DISPOSITION,
+                    "inline; filename=\"" + docRef.get().getFileName() + "\"");
+            headers.set("X-Content-Type-Options", "nosniff");
 
-            // Return the file with appropriate headers
-            return ResponseEntity.ok()
-                    .contentType(MediaType.APPLICATION_PDF)
-                    .header(HttpHeaders.CONTENT_DISPOSITION, 
-                            "inline; filename=\"" + docRef.get().getFileName() + "\"")
-                    .header(HttpHeaders.CACHE_CONTROL, "no-cache")
-                    .header("X-Content-Type-Options", "nosniff")
-                    .contentLength(file.length())
-                    .body(resource);
+            // Byte ranges, so viewers can render the first pages before the rest arrives
+            long start = 0;
+            long length = tag.length();
+            HttpStatus status = HttpStatus.OK;
+            String range = requestHeaders.getFirst(HttpHeaders.RANGE);
+            if (range != null && rangeStillValid(requestHeaders, tag)) {
+                long[] span = resolveRange(range, tag.length());
+                if (span == null) {
+                    return rangeNotSatisfiable(tag);
+                }
+                if (span != IGNORE_RANGE) {
+                    start  = span[0];
+                    length = span[1] - span[0] + 1;
+                    status = HttpStatus.PARTIAL_CONTENT;
+                    headers.set(HttpHeaders.CONTENT_RANGE,
+                            "bytes " + span[0] + "-" + span[1] + "/" + tag.length());
+                }
+            }
+
+            // Return the file (or the requested part of it) with appropriate headers
+            response.setStatus(status.value());
+            headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+            response.setContentLengthLong(length);
+            if (!HttpMethod.HEAD.matches(request.getMethod())) {
+                fileSender.send(request, response, filePath, start, length);
+            }
+            return null;
 
         } catch (Exception e) {
-            e.printStackTrace();
+            if (response.isCommitted()) {
+                // headers and part of the body are out; let the container abort the response
+                log.warn("Sending {} failed mid-body: {}", docId, e.toString());
+                if (e instanceof IOException io) throw new UncheckedIOException(io);
+                if (e instanceof RuntimeException re) throw re;
+                throw new IllegalStateException(e);
+            }
+            log.error("Serving {} failed", docId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(null);
         }
     }
-    
+
+    /**
+     * If-None-Match takes precedence, compared weakly as RFC 9110 requires;
+     * If-Modified-Since is only consulted without it.
+     */
+    private boolean isNotModified(HttpHeaders request, ContentTagCache.ContentTag tag) {
+        List<String> ifNoneMatch = request.getIfNoneMatch();
+        if (!ifNoneMatch.isEmpty()) {
+            String opaque = opaqueTag(tag.etag());
+            return ifNoneMatch.stream()
+                .anyMatch(candidate -> candidate.equals("*") || opaqueTag(candidate).equals(opaque));
+        }
+        long ifModifiedSince = request.getIfModifiedSince();
+        return ifModifiedSince >= 0 && tag.lastModified() / 1000 * 1000 <= ifModifiedSince;
+    }
+
+    /** A Range is honoured only if an accompanying If-Range still names the current version. */
+    private boolean rangeStillValid(HttpHeaders request, ContentTagCache.ContentTag tag) {
+        String ifRange = request.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange == null) return true;
+        // If-Range needs a strong match; a weak tag on either side never matches
+        if (ifRange.startsWith("W/")) return false;
+        if (ifRange.startsWith("\"")) return !tag.weak() && ifRange.equals(tag.etag());
+        try {
+            long date = request.getFirstDate(HttpHeaders.IF_RANGE);
+            return date >= 0 && tag.lastModified() / 1000 * 1000 == date;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    /**
+     * Resolves the Range header to one inclusive [first, last] span, null when
+     * it is well-formed but nothing in it is satisfiable (416), or IGNORE_RANGE
+     * when it does not parse (200 with the whole file). Multiple ranges are
+     * coalesced into the single span covering them, which viewers handle like
+     * any other 206.
+     */
+    private long[] resolveRange(String header, long fileLength) {
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(header);
+        } catch (IllegalArgumentException e) {
+            return IGNORE_RANGE;
+        }
+        long first = Long.MAX_VALUE;
+        long last  = -1;
+        for (HttpRange r : ranges) {
+            long rangeStart = r.getRangeStart(fileLength);
+            if (rangeStart >= fileLength) continue;
+            first = Math.min(first, rangeStart);
+            last  = Math.max(last, r.getRangeEnd(fileLength));
+        }
+        return last < 0 ? null : new long[] { first, last };
+    }
+
+    private ResponseEntity<?> rangeNotSatisfiable(ContentTagCache.ContentTag tag) {
+        return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+            .header(HttpHeaders.CONTENT_RANGE, "bytes */" + tag.length())
+            .build();
+    }
+
     // Add a test endpoint to verify the controller is loaded
     @GetMapping("/api/pdf/test")
     public ResponseEntity<String> test() {
         return ResponseEntity.ok("PDF Controller is working");
     }
-}
\ No newline at end of file
+}
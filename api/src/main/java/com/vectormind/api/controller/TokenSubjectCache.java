@@ -0,0 +1,109 @@
+package com.vectormind.api.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Resolves query-string JWTs to a user ID, remembering each verified token
+ * until it expires. A PDF viewer issues many range requests with the same
+ * token, and only the first one pays for signature verification (and any
+ * JWKS fetch). Tokens are keyed by their SHA-256, never stored themselves.
+ */
+@Component
+public class TokenSubjectCache implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenSubjectCache.class);
+
+    /** Upper bound for tokens without an exp claim, or with a far-future one. */
+    private static final Duration MAX_LIFETIME = Duration.ofHours(1);
+
+    private record DecodedToken(String subject, Instant expiresAt) {}
+
+    private final ObjectProvider<JwtDecoder> jwtDecoder;
+
+    private final Cache<String, DecodedToken> subjects = Caffeine.newBuilder()
+        .maximumSize(10_000)
+        .expireAfter(new Expiry<String, DecodedToken>() {
+            @Override
+            public long expireAfterCreate(String key, DecodedToken token, long now) {
+                Duration left = Duration.between(Instant.now(), token.expiresAt());
+                return (left.compareTo(MAX_LIFETIME) > 0 ? MAX_LIFETIME : left).toNanos();
+            }
+
+            @Override
+            public long expireAfterUpdate(String key, DecodedToken token, long now, long current) {
+                return current;
+            }
+
+            @Override
+            public long expireAfterRead(String key, DecodedToken token, long now, long current) {
+                return current;
+            }
+        })
+        .recordStats()
+        .build();
+
+    public TokenSubjectCache(ObjectProvider<JwtDecoder> jwtDecoder) {
+        this.jwtDecoder = jwtDecoder;
+    }
+
+    /** Hit, miss, load and eviction counts as cache.* meters tagged cache=token-subjects. */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, subjects, "token-subjects");
+    }
+
+    /** Returns the token's subject, or null when it cannot be verified. */
+    public String resolve(String token) {
+        String key = hash(token);
+        DecodedToken cached = subjects.getIfPresent(key);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return cached.subject();
+        }
+
+        JwtDecoder decoder = jwtDecoder.getIfAvailable();
+        if (decoder == null) return null;
+        try {
+            Jwt jwt = decoder.decode(token);
+            Instant expiresAt = jwt.getExpiresAt() != null ? jwt.getExpiresAt() : Instant.now().plus(MAX_LIFETIME);
+            if (jwt.getSubject() != null && expiresAt.isAfter(Instant.now())) {
+                subjects.put(key, new DecodedToken(jwt.getSubject(), expiresAt));
+            }
+            return jwt.getSubject();
+        } catch (JwtException e) {
+            // expired, forged or malformed; the message can quote claims, so it is not logged
+            log.debug("Query-string token rejected: {}", e.getClass().getSimpleName());
+            return null;
+        } catch (RuntimeException e) {
+            log.warn("Could not verify query-string token", e);
+            return null;
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
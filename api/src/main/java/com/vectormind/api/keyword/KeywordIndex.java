@@ -0,0 +1,116 @@
+package com.vectormind.api.keyword;
+
+import com.vectormind.api.weaviate.ChunkFilter;
+import com.vectormind.api.weaviate.ChunkHit;
+import com.vectormind.api.weaviate.StoredChunk;
+import com.vectormind.api.weaviate.WeaviateClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Optional in-process BM25 index over chunk text, per user, so exact terms
+ * (names, invoice numbers, clause ids) can be found even when the vectors
+ * miss them. Built incrementally by ingestion and loaded from Weaviate at
+ * startup; reports a miss until that load has finished.
+ */
+@Service
+public class KeywordIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(KeywordIndex.class);
+
+    private final WeaviateClient weaviate;
+    private final boolean enabled;
+    private final int loadPageSize;
+    private final Map<String, UserPostings> byUser = new ConcurrentHashMap<>();
+    private final Set<String> deletedDuringLoad = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    public KeywordIndex(WeaviateClient weaviate,
+                        @Value("${search.keyword-index.enabled:false}") boolean enabled,
+                        @Value("${search.local-index.load-page-size:500}") int loadPageSize) {
+        this.weaviate = weaviate;
+        this.enabled = enabled;
+        this.loadPageSize = loadPageSize;
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /** BM25 top-k of the user's chunks that the filter admits; empty when the index cannot answer. */
+    public Optional<List<ChunkHit>> search(String userId, ChunkFilter filter, String query, int k) {
+        if (!isReady()) return Optional.empty();
+        UserPostings postings = byUser.get(userId);
+        return Optional.of(postings == null ? List.of() : postings.search(query, filter, k, userId));
+    }
+
+    /** Indexes a freshly ingested document's chunks; ids and texts are parallel lists. */
+    public void addDocument(String userId, String docId, String workspace, List<String> ids, List<String> texts) {
+        if (!enabled) return;
+        UserPostings postings = byUser.computeIfAbsent(userId, u -> new UserPostings());
+        for (int i = 0; i < ids.size(); i++) {
+            postings.add(ids.get(i), docId, workspace, texts.get(i), i + 1);
+        }
+    }
+
+    public void removeDocument(String userId, String docId) {
+        if (!enabled) return;
+        if (!ready) deletedDuringLoad.add(userId + "/" + docId);
+        UserPostings postings = byUser.get(userId);
+        if (postings != null) postings.removeDocument(docId);
+    }
+
+    public void clear() {
+        byUser.clear();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void loadInBackground() {
+        if (!enabled) return;
+        Thread loader = new Thread(this::load, "keyword-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /** Pages through every Chunk's text; vectors are not needed here. */
+    void load() {
+        long started = System.currentTimeMillis();
+        int total = 0;
+        try {
+            String after = null;
+            while (true) {
+                List<StoredChunk> page = weaviate.listObjects("Chunk", after, loadPageSize, false, StoredChunk.class);
+                if (page.isEmpty()) break;
+                for (StoredChunk chunk : page) {
+                    StoredChunk.Properties p = chunk.properties();
+                    if (p == null || p.userId() == null || p.text() == null) continue;
+                    if (deletedDuringLoad.contains(p.userId() + "/" + p.docId())) continue;
+                    byUser.computeIfAbsent(p.userId(), u -> new UserPostings())
+                          .add(chunk.id(), p.docId(), p.workspace(), p.text(), p.page() != null ? p.page() : 0);
+                }
+                total += page.size();
+                after = page.get(page.size() - 1).id();
+            }
+        } catch (Exception e) {
+            log.warn("Keyword index load failed after {} chunks; hybrid search stays off", total, e);
+            byUser.clear();
+            return;
+        }
+        deletedDuringLoad.forEach(key -> {
+            int slash = key.indexOf('/');
+            UserPostings postings = byUser.get(key.substring(0, slash));
+            if (postings != null) postings.removeDocument(key.substring(slash + 1));
+        });
+        deletedDuringLoad.clear();
+        ready = true;
+        log.info("Keyword index loaded {} chunks for {} users in {} ms",
+                 total, byUser.size(), System.currentTimeMillis() - started);
+    }
+}
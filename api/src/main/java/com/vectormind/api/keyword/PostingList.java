@@ -0,0 +1,82 @@
+package com.vectormind.api.keyword;
+
+import java.util.Arrays;
+
+/**
+ * Postings for one term: (chunk ordinal, term frequency) pairs in ordinal
+ * order, stored as varint-encoded ordinal gaps and frequencies in a byte[].
+ * Most entries take two bytes.
+ */
+final class PostingList {
+
+    private byte[] bytes = new byte[8];
+    private int length;
+    private int count;
+    private int lastOrdinal = -1;
+
+    /** Appends a posting; ordinals must be strictly increasing. */
+    void add(int ordinal, int frequency) {
+        writeVarint(ordinal - lastOrdinal);
+        writeVarint(frequency);
+        lastOrdinal = ordinal;
+        count++;
+    }
+
+    /** Number of postings, including any for chunks since removed. */
+    int count() {
+        return count;
+    }
+
+    int byteSize() {
+        return length;
+    }
+
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    private void writeVarint(int value) {
+        if (length + 5 > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 5));
+        }
+        while ((value & ~0x7F) != 0) {
+            bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[length++] = (byte) value;
+    }
+
+    /** Forward-only decoder; call next() before reading ordinal() and frequency(). */
+    final class Cursor {
+        private int position;
+        private int ordinal = -1;
+        private int frequency;
+
+        boolean next() {
+            if (position >= length) return false;
+            ordinal += readVarint();
+            frequency = readVarint();
+            return true;
+        }
+
+        int ordinal() {
+            return ordinal;
+        }
+
+        int frequency() {
+            return frequency;
+        }
+
+        private int readVarint() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+}
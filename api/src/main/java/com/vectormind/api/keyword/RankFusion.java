@@ -0,0 +1,38 @@
+package com.vectormind.api.keyword;
+
+import com.vectormind.api.weaviate.ChunkHit;
+
+import java.util.*;
+
+/** Reciprocal rank fusion of ranked chunk lists. */
+public final class RankFusion {
+
+    /** The usual RRF constant; dampens the advantage of the very top ranks. */
+    static final int K = 60;
+
+    private RankFusion() {}
+
+    /**
+     * Scores each chunk by the sum of 1 / (K + rank) over the lists it appears
+     * in and returns the best limit, keeping the first-seen hit (and so its
+     * certainty) for chunks found by more than one list.
+     */
+    @SafeVarargs
+    public static List<ChunkHit> fuse(int limit, List<ChunkHit>... rankings) {
+        Map<String, ChunkHit> hits = new LinkedHashMap<>();
+        Map<String, Double> scores = new HashMap<>();
+        for (List<ChunkHit> ranking : rankings) {
+            for (int rank = 0; rank < ranking.size(); rank++) {
+                ChunkHit hit = ranking.get(rank);
+                String key = hit.docId() + "#" + hit.page();
+                hits.putIfAbsent(key, hit);
+                scores.merge(key, 1.0 / (K + rank + 1), Double::sum);
+            }
+        }
+        return hits.keySet().stream()
+            .sorted(Comparator.comparingDouble((String key) -> scores.get(key)).reversed())
+            .limit(limit)
+            .map(hits::get)
+            .toList();
+    }
+}
@@ -0,0 +1,56 @@
+package com.vectormind.api.keyword;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits text into lower-case terms for the keyword index. Runs of letters
+ * and digits are terms; identifiers joined by '-', '_', '.' or '/' (such as
+ * INV-2024-001 or v1.2) are also kept whole, so exact codes and numbers match
+ * as one term as well as by their parts.
+ */
+public final class Tokenizer {
+
+    private static final Set<String> STOPWORDS = Set.of(
+        "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "in", "is", "it",
+        "its", "of", "on", "or", "that", "the", "to", "was", "were", "will", "with", "what", "which"
+    );
+
+    private Tokenizer() {}
+
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) return terms;
+        String lower = text.toLowerCase(Locale.ROOT);
+        int n = lower.length();
+        int i = 0;
+        while (i < n) {
+            while (i < n && !Character.isLetterOrDigit(lower.charAt(i))) i++;
+            int compoundStart = i;
+            int parts = 0;
+            while (i < n) {
+                int start = i;
+                while (i < n && Character.isLetterOrDigit(lower.charAt(i))) i++;
+                if (i == start) break;
+                String term = lower.substring(start, i);
+                if (!STOPWORDS.contains(term)) terms.add(term);
+                parts++;
+                if (i + 1 < n && isJoiner(lower.charAt(i)) && Character.isLetterOrDigit(lower.charAt(i + 1))) {
+                    i++;
+                } else {
+                    break;
+                }
+            }
+            if (parts > 1) {
+                terms.add(lower.substring(compoundStart, i));
+            }
+        }
+        return terms;
+    }
+
+    private static boolean isJoiner(char c) {
+        return c == '-' || c == '_' || c == '.' || c == '/';
+    }
+}
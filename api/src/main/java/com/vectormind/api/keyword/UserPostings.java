@@ -0,0 +1,101 @@
+package com.vectormind.api.keyword;
+
+import com.vectormind.api.weaviate.ChunkFilter;
+import com.vectormind.api.weaviate.ChunkHit;
+
+import java.util.*;
+
+/**
+ * One user's inverted index. Chunks get increasing ordinals as they are
+ * added, so postings are only ever appended; removed chunks are tombstoned
+ * and dropped when more than half the ordinals are dead.
+ */
+final class UserPostings {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private record Chunk(String id, String docId, String workspace, String text, int page, int length) {}
+
+    private final List<Chunk> chunks = new ArrayList<>();
+    private final BitSet removed = new BitSet();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Set<String> ids = new HashSet<>();
+    private long liveLength;
+    private int liveCount;
+
+    synchronized void add(String id, String docId, String workspace, String text, int page) {
+        if (!ids.add(id)) return;
+        List<String> terms = Tokenizer.tokenize(text);
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : terms) frequencies.merge(term, 1, Integer::sum);
+
+        int ordinal = chunks.size();
+        chunks.add(new Chunk(id, docId, workspace, text, page, terms.size()));
+        frequencies.forEach((term, tf) -> postings.computeIfAbsent(term, t -> new PostingList()).add(ordinal, tf));
+        liveLength += terms.size();
+        liveCount++;
+    }
+
+    synchronized void removeDocument(String docId) {
+        for (int i = 0; i < chunks.size(); i++) {
+            Chunk c = chunks.get(i);
+            if (!removed.get(i) && docId.equals(c.docId())) {
+                removed.set(i);
+                ids.remove(c.id());
+                liveLength -= c.length();
+                liveCount--;
+            }
+        }
+        if (removed.cardinality() > chunks.size() / 2) compact();
+    }
+
+    synchronized int size() {
+        return liveCount;
+    }
+
+    /** BM25 top-k, best first, among the chunks the filter admits. */
+    synchronized List<ChunkHit> search(String query, ChunkFilter filter, int k, String userId) {
+        if (liveCount == 0) return List.of();
+        double avgLength = Math.max(1.0, (double) liveLength / liveCount);
+        Map<Integer, Double> scores = new HashMap<>();
+        for (String term : new LinkedHashSet<>(Tokenizer.tokenize(query))) {
+            PostingList list = postings.get(term);
+            if (list == null) continue;
+            int df = list.count();
+            double idf = Math.log(1 + (liveCount - df + 0.5) / (df + 0.5));
+            PostingList.Cursor cursor = list.cursor();
+            while (cursor.next()) {
+                int ordinal = cursor.ordinal();
+                if (removed.get(ordinal)) continue;
+                Chunk c = chunks.get(ordinal);
+                if (!filter.matches(c.docId(), c.workspace())) continue;
+                double tf = cursor.frequency();
+                double norm = tf * (K1 + 1) / (tf + K1 * (1 - B + B * c.length() / avgLength));
+                scores.merge(ordinal, idf * norm, Double::sum);
+            }
+        }
+        return scores.entrySet().stream()
+            .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed())
+            .limit(k)
+            .map(e -> {
+                Chunk c = chunks.get(e.getKey());
+                return new ChunkHit(c.text(), c.page(), c.docId(), userId, null);
+            })
+            .toList();
+    }
+
+    private void compact() {
+        List<Chunk> live = new ArrayList<>(liveCount);
+        for (int i = 0; i < chunks.size(); i++) {
+            if (!removed.get(i)) live.add(chunks.get(i));
+        }
+        chunks.clear();
+        removed.clear();
+        postings.clear();
+        ids.clear();
+        liveLength = 0;
+        liveCount = 0;
+        for (Chunk c : live) add(c.id(), c.docId(), c.workspace(), c.text(), c.page());
+    }
+}
@@ -0,0 +1,291 @@
+package com.vectormind.api.vector;
+
+import com.vectormind.api.weaviate.ChunkFilter;
+import com.vectormind.api.weaviate.ChunkHit;
+
+import java.util.*;
+
+/**
+ * One user's chunks as an immutable snapshot: unit-length vectors packed
+ * row after row into a single array, with chunk metadata in parallel
+ * arrays. Updates return a new matrix, so searches never take a lock.
+ * <p>
+ * Vectors are held either as floats or, when built with a FloatRowStore, as
+ * int8 codes with one scale per row (a quarter of the memory). Quantized
+ * matrices pick candidates by their codes and re-rank them with the exact
+ * rows read back from the store.
+ */
+public final class ChunkMatrix {
+
+    /** One chunk to add; the vector need not be normalized. */
+    public record Row(String id, String docId, String workspace, String text, int page, float[] vector) {}
+
+    /** Candidates re-ranked per requested hit when quantized. */
+    static final int RERANK_FACTOR = 8;
+
+    private final int dimensions;
+    private final float[] rows;        // float mode
+    private final byte[] codes;        // quantized mode
+    private final float[] scales;
+    private final long[] exactRows;
+    private final FloatRowStore store;
+    private final String[] ids;
+    private final String[] docIds;
+    private final String[] workspaces;
+    private final String[] texts;
+    private final int[] pages;
+
+    private ChunkMatrix(int dimensions, float[] rows, byte[] codes, float[] scales, long[] exactRows,
+                        FloatRowStore store, String[] ids, String[] docIds, String[] workspaces,
+                        String[] texts, int[] pages) {
+        this.dimensions = dimensions;
+        this.rows = rows;
+        this.codes = codes;
+        this.scales = scales;
+        this.exactRows = exactRows;
+        this.store = store;
+        this.ids = ids;
+        this.docIds = docIds;
+        this.workspaces = workspaces;
+        this.texts = texts;
+        this.pages = pages;
+    }
+
+    public static ChunkMatrix of(int dimensions, List<Row> rows) {
+        return new ChunkMatrix(dimensions, new float[0], null, null, null, null,
+                               new String[0], new String[0], new String[0], new String[0], new int[0])
+            .append(rows);
+    }
+
+    /** A quantized matrix whose exact rows are appended to the given store. */
+    public static ChunkMatrix quantized(int dimensions, List<Row> rows, FloatRowStore store) {
+        return new ChunkMatrix(dimensions, null, new byte[0], new float[0], new long[0], store,
+                               new String[0], new String[0], new String[0], new String[0], new int[0])
+            .append(rows);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    public boolean isQuantized() {
+        return store != null;
+    }
+
+    /** Heap bytes held for vectors (metadata excluded). */
+    public long vectorBytes() {
+        return isQuantized()
+            ? (long) codes.length + (long) size() * (Float.BYTES + Long.BYTES)
+            : (long) rows.length * Float.BYTES;
+    }
+
+    /** A matrix with the rows added; rows whose id is already present, or of the wrong size, are skipped. */
+    public ChunkMatrix append(List<Row> added) {
+        Set<String> present = new HashSet<>(Arrays.asList(ids));
+        List<Row> fresh = new ArrayList<>(added.size());
+        for (Row row : added) {
+            if (row.vector().length == dimensions && present.add(row.id())) fresh.add(row);
+        }
+        if (fresh.isEmpty()) return this;
+
+        int n = size();
+        int total = n + fresh.size();
+        float[] newRows   = rows != null ? Arrays.copyOf(rows, total * dimensions) : null;
+        byte[] newCodes   = codes != null ? Arrays.copyOf(codes, total * dimensions) : null;
+        float[] newScales = scales != null ? Arrays.copyOf(scales, total) : null;
+        long[] newExact   = exactRows != null ? Arrays.copyOf(exactRows, total) : null;
+        String[] newIds   = Arrays.copyOf(ids, total);
+        String[] newDocs  = Arrays.copyOf(docIds, total);
+        String[] newSpaces = Arrays.copyOf(workspaces, total);
+        String[] newTexts = Arrays.copyOf(texts, total);
+        int[] newPages    = Arrays.copyOf(pages, total);
+        for (Row row : fresh) {
+            float[] unit = VectorMath.normalize(row.vector());
+            if (store == null) {
+                System.arraycopy(unit, 0, newRows, n * dimensions, dimensions);
+            } else {
+                newScales[n] = quantize(unit, newCodes, n * dimensions);
+                newExact[n]  = store.append(unit);
+            }
+            newIds[n]   = row.id();
+            newDocs[n]  = row.docId();
+            newSpaces[n] = row.workspace();
+            newTexts[n] = row.text();
+            newPages[n] = row.page();
+            n++;
+        }
+        return new ChunkMatrix(dimensions, newRows, newCodes, newScales, newExact, store,
+                               newIds, newDocs, newSpaces, newTexts, newPages);
+    }
+
+    /** A matrix without the document's chunks. */
+    public ChunkMatrix removeDocument(String docId) {
+        return filter(docId, false);
+    }
+
+    /** A matrix with only the document's chunks. */
+    public ChunkMatrix selectDocument(String docId) {
+        return filter(docId, true);
+    }
+
+    private ChunkMatrix filter(String docId, boolean keepMatches) {
+        int kept = 0;
+        for (String d : docIds) if (docId.equals(d) == keepMatches) kept++;
+        if (kept == size()) return this;
+
+        float[] newRows   = rows != null ? new float[kept * dimensions] : null;
+        byte[] newCodes   = codes != null ? new byte[kept * dimensions] : null;
+        float[] newScales = scales != null ? new float[kept] : null;
+        long[] newExact   = exactRows != null ? new long[kept] : null;
+        String[] newIds   = new String[kept];
+        String[] newDocs  = new String[kept];
+        String[] newSpaces = new String[kept];
+        String[] newTexts = new String[kept];
+        int[] newPages    = new int[kept];
+        int j = 0;
+        for (int i = 0; i < size(); i++) {
+            if (docId.equals(docIds[i]) != keepMatches) continue;
+            if (rows != null) {
+                System.arraycopy(rows, i * dimensions, newRows, j * dimensions, dimensions);
+            } else {
+                System.arraycopy(codes, i * dimensions, newCodes, j * dimensions, dimensions);
+                newScales[j] = scales[i];
+                newExact[j]  = exactRows[i];
+            }
+            newIds[j]   = ids[i];
+            newDocs[j]  = docIds[i];
+            newSpaces[j] = workspaces[i];
+            newTexts[j] = texts[i];
+            newPages[j] = pages[i];
+            j++;
+        }
+        return new ChunkMatrix(dimensions, newRows, newCodes, newScales, newExact, store,
+                               newIds, newDocs, newSpaces, newTexts, newPages);
+    }
+
+    /** The same matrix with its exact rows copied into target, for compacting the store. */
+    public ChunkMatrix relocate(FloatRowStore target) {
+        if (store == null || store == target) return this;
+        float[] exact = new float[dimensions];
+        long[] newExact = new long[size()];
+        for (int i = 0; i < size(); i++) {
+            store.read(exactRows[i], exact);
+            newExact[i] = target.append(exact);
+        }
+        return new ChunkMatrix(dimensions, rows, codes, scales, newExact, target,
+                               ids, docIds, workspaces, texts, pages);
+    }
+
+    /**
+     * Top-k by cosine similarity, best first, among the chunks the filter
+     * admits. Certainty is reported the way Weaviate does: (1 + cos) / 2,
+     * and each hit carries its unit vector.
+     */
+    public List<ChunkHit> topK(float[] query, int k, ChunkFilter filter, String userId) {
+        float[] q = VectorMath.normalize(query);
+        SimilarityKernel kernel = VectorMath.kernel();
+        float[] scores = new float[size()];
+        boolean[] admitted = admitted(filter);
+        int[] best;
+        int found;
+
+        if (store == null) {
+            if (admitted == null) {
+                kernel.scoreRows(q, rows, 0, size(), scores);
+            } else {
+                for (int i = 0; i < size(); i++) {
+                    if (admitted[i]) scores[i] = kernel.dot(q, rows, i * dimensions);
+                }
+            }
+            best = new int[Math.min(k, size())];
+            found = select(scores, admitted, best);
+        } else {
+            for (int i = 0; i < size(); i++) {
+                if (admitted == null || admitted[i]) {
+                    scores[i] = kernel.dotInt8(q, codes, i * dimensions) * scales[i];
+                }
+            }
+            int[] candidates = new int[Math.min(k * RERANK_FACTOR, size())];
+            int count = select(scores, admitted, candidates);
+
+            // re-score candidates exactly; everything else drops out of the ranking
+            float[] exact = new float[dimensions];
+            float[] rescored = new float[size()];
+            Arrays.fill(rescored, Float.NEGATIVE_INFINITY);
+            for (int c = 0; c < count; c++) {
+                int i = candidates[c];
+                store.read(exactRows[i], exact);
+                rescored[i] = kernel.dot(q, exact, 0);
+            }
+            scores = rescored;
+            best = new int[Math.min(k, count)];
+            found = select(scores, null, best);
+        }
+
+        List<ChunkHit> out = new ArrayList<>(found);
+        for (int j = 0; j < found; j++) {
+            int i = best[j];
+            out.add(new ChunkHit(texts[i], pages[i], docIds[i], userId, (1.0 + scores[i]) / 2.0, vector(i)));
+        }
+        return out;
+    }
+
+    /** Per-row admission by the filter, or null when every row is admitted. */
+    private boolean[] admitted(ChunkFilter filter) {
+        if (filter == null || filter.isEmpty()) return null;
+        boolean[] admitted = new boolean[size()];
+        for (int i = 0; i < size(); i++) {
+            admitted[i] = filter.matches(docIds[i], workspaces[i]);
+        }
+        return admitted;
+    }
+
+    /** Row i as a unit vector, copied out of the matrix or the store. */
+    private Vector vector(int i) {
+        if (store == null) {
+            return new Vector(Arrays.copyOfRange(rows, i * dimensions, (i + 1) * dimensions));
+        }
+        float[] exact = new float[dimensions];
+        store.read(exactRows[i], exact);
+        return new Vector(exact);
+    }
+
+    /**
+     * Fills best with the indices of the highest scores (of admitted rows,
+     * if given), in descending order, and returns how many it found. The array
+     * is small, so insertion beats a heap.
+     */
+    private int select(float[] scores, boolean[] admitted, int[] best) {
+        int found = 0;
+        for (int i = 0; i < size(); i++) {
+            if (admitted != null && !admitted[i]) continue;
+            float score = scores[i];
+            if (score == Float.NEGATIVE_INFINITY) continue;
+            if (found == best.length && (found == 0 || score <= scores[best[found - 1]])) continue;
+            int at = found < best.length ? found++ : found - 1;
+            while (at > 0 && scores[best[at - 1]] < score) {
+                best[at] = best[at - 1];
+                at--;
+            }
+            best[at] = i;
+        }
+        return found;
+    }
+
+    /** Symmetric int8 codes for one unit row; returns the scale that maps codes back to floats. */
+    static float quantize(float[] unit, byte[] codes, int offset) {
+        float maxAbs = 0f;
+        for (float v : unit) maxAbs = Math.max(maxAbs, Math.abs(v));
+        if (maxAbs == 0f) return 0f;
+        float scale = maxAbs / 127f;
+        float inv = 1f / scale;
+        for (int d = 0; d < unit.length; d++) {
+            codes[offset + d] = (byte) Math.round(unit[d] * inv);
+        }
+        return scale;
+    }
+}
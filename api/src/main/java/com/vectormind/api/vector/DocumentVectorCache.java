@@ -0,0 +1,113 @@
+package com.vectormind.api.vector;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vectormind.api.weaviate.ChunkFilter;
+import com.vectormind.api.weaviate.ChunkHit;
+import com.vectormind.api.weaviate.StoredChunk;
+import com.vectormind.api.weaviate.WeaviateClient;
+import com.vectormind.api.weaviate.WhereFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Chunk matrices for single documents, for searches scoped by docId. A
+ * document's chunks are fetched once, from the local index when it is loaded
+ * or from Weaviate otherwise, and later questions about the same document are
+ * answered by an exact in-process scan.
+ */
+@Service
+public class DocumentVectorCache implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentVectorCache.class);
+
+    /** Weaviate's default QUERY_MAXIMUM_RESULTS; larger documents are not cached. */
+    private static final int MAX_CHUNKS = 10_000;
+
+    private final WeaviateClient weaviate;
+    private final LocalVectorIndex localIndex;
+    private final boolean enabled;
+    private final int dimensions;
+    private final Cache<String, ChunkMatrix> matrices;
+
+    public DocumentVectorCache(WeaviateClient weaviate,
+                               LocalVectorIndex localIndex,
+                               @Value("${search.document-vectors.enabled:true}") boolean enabled,
+                               @Value("${embedding.dimensions:384}") int dimensions,
+                               @Value("${search.document-vectors.max-bytes:67108864}") long maxBytes,
+                               @Value("${search.document-vectors.idle-minutes:30}") long idleMinutes) {
+        this.weaviate = weaviate;
+        this.localIndex = localIndex;
+        this.enabled = enabled;
+        this.dimensions = dimensions;
+        this.matrices = Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((String key, ChunkMatrix m) -> m.size() * dimensions * Float.BYTES)
+            .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+            .recordStats()
+            .build();
+    }
+
+    /** Hit, miss, load and eviction counts as cache.* meters tagged cache=document-vectors. */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, matrices, "document-vectors");
+    }
+
+    /** Top-k chunks of one document; empty when they cannot be loaded and Weaviate should be asked. */
+    public Optional<List<ChunkHit>> search(String userId, String docId, float[] query, int k) {
+        if (!enabled || query.length != dimensions) return Optional.empty();
+        ChunkMatrix matrix = matrices.get(key(userId, docId), key -> load(userId, docId));
+        return matrix == null ? Optional.empty() : Optional.of(matrix.topK(query, k, ChunkFilter.NONE, userId));
+    }
+
+    public void evict(String userId, String docId) {
+        matrices.invalidate(key(userId, docId));
+    }
+
+    public void clear() {
+        matrices.invalidateAll();
+    }
+
+    /** Null (not cached) when the document has no chunks yet or the fetch fails. */
+    private ChunkMatrix load(String userId, String docId) {
+        ChunkMatrix local = localIndex.documentMatrix(userId, docId);
+        if (local != null) return local.size() > 0 ? local : null;
+
+        try {
+            String query = """
+                query($where: GetObjectsChunkWhereInpObj) {
+                  Get { Chunk(where: $where, limit: %d) { text page docId workspace _additional { id vector } } }
+                }""".formatted(MAX_CHUNKS);
+            Map<String, Object> where = WhereFilter.and(List.of(
+                WhereFilter.equal("userId", userId),
+                WhereFilter.equal("docId", docId)));
+            List<StoredChunk> chunks = weaviate.graphql(
+                Map.of("query", query, "variables", Map.of("where", where)), "Get", "Chunk", StoredChunk.READER);
+            if (chunks.isEmpty() || chunks.size() >= MAX_CHUNKS) return null;
+
+            List<ChunkMatrix.Row> rows = new ArrayList<>(chunks.size());
+            for (StoredChunk c : chunks) {
+                if (c.vector() == null) continue;
+                StoredChunk.Properties p = c.properties();
+                rows.add(new ChunkMatrix.Row(c.id(), docId, p.workspace(), p.text(), p.page() != null ? p.page() : 0, c.vector().values()));
+            }
+            return rows.isEmpty() ? null : ChunkMatrix.of(dimensions, rows);
+        } catch (Exception e) {
+            log.warn("Could not load vectors for document {}", docId, e);
+            return null;
+        }
+    }
+
+    private static String key(String userId, String docId) {
+        return userId + "/" + docId;
+    }
+}
@@ -0,0 +1,98 @@
+package com.vectormind.api.vector;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only file of full-precision rows, memory-mapped in fixed segments,
+ * so exact vectors for re-ranking live in the page cache rather than the
+ * heap. Rows are never rewritten; the file is recreated on startup, and rows
+ * of deleted chunks stay in it until LocalVectorIndex copies the live rows
+ * into a fresh store and moves that over this one.
+ */
+public final class FloatRowStore implements AutoCloseable {
+
+    private static final int SEGMENT_ROWS = 16_384;
+
+    private final int dimensions;
+    private final long segmentBytes;
+    private final FileChannel channel;
+    private Path file;
+    private final List<FloatBuffer> segments = new ArrayList<>();
+    private long rowCount;
+
+    public FloatRowStore(Path file, int dimensions) {
+        this.dimensions = dimensions;
+        this.segmentBytes = (long) SEGMENT_ROWS * dimensions * Float.BYTES;
+        this.file = file;
+        try {
+            Files.createDirectories(file.getParent());
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                                            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open vector store " + file, e);
+        }
+    }
+
+    /** Writes the row and returns its index. */
+    public synchronized long append(float[] row) {
+        int segment = (int) (rowCount / SEGMENT_ROWS);
+        if (segment == segments.size()) {
+            try {
+                segments.add(channel.map(FileChannel.MapMode.READ_WRITE, segment * segmentBytes, segmentBytes)
+                                    .order(ByteOrder.nativeOrder())
+                                    .asFloatBuffer());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot grow vector store", e);
+            }
+        }
+        segments.get(segment).put((int) (rowCount % SEGMENT_ROWS) * dimensions, row, 0, dimensions);
+        return rowCount++;
+    }
+
+    /** Copies row index into dst, which must hold at least dimensions floats. */
+    public void read(long index, float[] dst) {
+        FloatBuffer segment;
+        synchronized (this) {
+            segment = segments.get((int) (index / SEGMENT_ROWS));
+        }
+        segment.get((int) (index % SEGMENT_ROWS) * dimensions, dst, 0, dimensions);
+    }
+
+    public synchronized long rowCount() {
+        return rowCount;
+    }
+
+    /** Length of the file, which grows a whole segment at a time. */
+    public synchronized long sizeBytes() {
+        return segments.size() * segmentBytes;
+    }
+
+    /**
+     * Renames the file to target, replacing what is there. A store previously
+     * at target stays readable through its mappings until it is closed and
+     * collected.
+     */
+    public synchronized void moveTo(Path target) {
+        try {
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot move vector store to " + target, e);
+        }
+        file = target;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,246 @@
+package com.vectormind.api.vector;
+
+import com.vectormind.api.weaviate.ChunkFilter;
+import com.vectormind.api.weaviate.ChunkHit;
+import com.vectormind.api.weaviate.StoredChunk;
+import com.vectormind.api.weaviate.WeaviateClient;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Optional in-process copy of every user's chunk vectors, searched by brute
+ * force. Filled from Weaviate once at startup and kept current by ingestion
+ * and deletes. Until the startup load has finished, and for users whose
+ * corpus is over the per-user limit, search reports a miss and callers go
+ * to Weaviate as before.
+ * <p>
+ * When quantized, rows of deleted documents and dropped users pile up in the
+ * shared FloatRowStore. Once they outnumber the live rows, the live rows are
+ * copied into a fresh store that replaces the file.
+ */
+@Service
+public class LocalVectorIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalVectorIndex.class);
+
+    /** Dead rows tolerated regardless of the live count, so small stores are not rewritten on every delete. */
+    static final long COMPACT_MIN_DEAD_ROWS = 16_384;
+
+    private final WeaviateClient weaviate;
+    private final boolean enabled;
+    private final int dimensions;
+    private final int maxChunksPerUser;
+    private final int loadPageSize;
+    private final Path vectorFile;
+    /** Exact rows for re-ranking when quantized; null when vectors are kept as floats. */
+    private volatile FloatRowStore exactRows;
+    /** Serializes matrix updates, so compaction sees every row appended to the store it replaces. */
+    private final Object writeLock = new Object();
+
+    private final Map<String, ChunkMatrix> byUser = new ConcurrentHashMap<>();
+    private final Set<String> oversized = ConcurrentHashMap.newKeySet();
+    /** userId/docId pairs deleted while the startup load was running, so it does not resurrect them. */
+    private final Set<String> deletedDuringLoad = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    public LocalVectorIndex(WeaviateClient weaviate,
+                            @Value("${search.local-index.enabled:false}") boolean enabled,
+                            @Value("${embedding.dimensions:384}") int dimensions,
+                            @Value("${search.local-index.max-chunks-per-user:50000}") int maxChunksPerUser,
+                            @Value("${search.local-index.load-page-size:500}") int loadPageSize,
+                            @Value("${search.local-index.quantize:true}") boolean quantize,
+                            @Value("${search.local-index.vector-file:cache/vectors/rows.f32}") String vectorFile,
+                            MeterRegistry meterRegistry) {
+        this.weaviate = weaviate;
+        this.enabled = enabled;
+        this.dimensions = dimensions;
+        this.maxChunksPerUser = maxChunksPerUser;
+        this.loadPageSize = loadPageSize;
+        this.vectorFile = Paths.get(vectorFile);
+        this.exactRows = enabled && quantize ? new FloatRowStore(this.vectorFile, dimensions) : null;
+        if (exactRows != null) {
+            Gauge.builder("search.local_index.store.bytes", this, index -> index.exactRows.sizeBytes())
+                 .baseUnit("bytes")
+                 .register(meterRegistry);
+            Gauge.builder("search.local_index.store.dead_rows", this, LocalVectorIndex::deadRows)
+                 .register(meterRegistry);
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Top-k of the user's chunks that the filter admits; empty when the
+     * index cannot answer for this user and Weaviate should be asked.
+     */
+    public Optional<List<ChunkHit>> search(String userId, ChunkFilter filter, float[] query, int k) {
+        if (!isReady() || oversized.contains(userId) || query.length != dimensions) {
+            return Optional.empty();
+        }
+        ChunkMatrix matrix = byUser.get(userId);
+        return Optional.of(matrix == null ? List.of() : matrix.topK(query, k, filter, userId));
+    }
+
+    /** The document's chunks, or null when the index cannot answer for this user. */
+    public ChunkMatrix documentMatrix(String userId, String docId) {
+        if (!isReady() || oversized.contains(userId)) return null;
+        ChunkMatrix matrix = byUser.get(userId);
+        return matrix == null ? null : matrix.selectDocument(docId);
+    }
+
+    /** Adds a freshly ingested document's chunks; ids, texts and vectors are parallel lists. */
+    public void addDocument(String userId, String docId, String workspace,
+                            List<String> ids, List<String> texts, List<Vector> vectors) {
+        if (!enabled) return;
+        List<ChunkMatrix.Row> rows = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            rows.add(new ChunkMatrix.Row(ids.get(i), docId, workspace, texts.get(i), i + 1, vectors.get(i).values()));
+        }
+        append(userId, rows);
+    }
+
+    public void removeDocument(String userId, String docId) {
+        if (!enabled) return;
+        synchronized (writeLock) {
+            if (!ready) deletedDuringLoad.add(userId + "/" + docId);
+            byUser.computeIfPresent(userId, (u, matrix) -> matrix.removeDocument(docId));
+            compactIfWasteful();
+        }
+    }
+
+    public void clear() {
+        synchronized (writeLock) {
+            byUser.clear();
+            oversized.clear();
+            compactIfWasteful();
+        }
+    }
+
+    private void append(String userId, List<ChunkMatrix.Row> rows) {
+        synchronized (writeLock) {
+            if (oversized.contains(userId)) return;
+            ChunkMatrix updated = byUser.compute(userId,
+                (u, current) -> current != null ? current.append(rows) : newMatrix(rows));
+            if (updated != null && updated.size() > maxChunksPerUser) {
+                oversized.add(userId);
+                byUser.remove(userId);
+                log.info("User {} has more than {} chunks; searching Weaviate for them", userId, maxChunksPerUser);
+                compactIfWasteful();
+            }
+        }
+    }
+
+    /** Rows in the store that no current matrix refers to. */
+    long deadRows() {
+        FloatRowStore store = exactRows;
+        if (store == null) return 0;
+        long live = 0;
+        for (ChunkMatrix matrix : byUser.values()) live += matrix.size();
+        return Math.max(0, store.rowCount() - live);
+    }
+
+    /**
+     * Copies the live rows into a new store and moves it over the old file
+     * once dead rows outnumber them. Searches still holding matrices on the
+     * old store keep reading its mappings, which outlive the file and the
+     * channel. Callers hold writeLock.
+     */
+    private void compactIfWasteful() {
+        FloatRowStore old = exactRows;
+        if (old == null) return;
+        long dead = deadRows();
+        long live = old.rowCount() - dead;
+        if (dead < COMPACT_MIN_DEAD_ROWS || dead <= live) return;
+
+        long started = System.currentTimeMillis();
+        long oldBytes = old.sizeBytes();
+        FloatRowStore fresh = new FloatRowStore(vectorFile.resolveSibling(vectorFile.getFileName() + ".compact"),
+                                                dimensions);
+        byUser.replaceAll((u, matrix) -> matrix.relocate(fresh));
+        fresh.moveTo(vectorFile);
+        exactRows = fresh;
+        try {
+            old.close();
+        } catch (IOException e) {
+            log.warn("Could not close the replaced vector store", e);
+        }
+        log.info("Compacted vector store: {} live rows kept, {} dead dropped, {} -> {} bytes in {} ms",
+                 live, dead, oldBytes, fresh.sizeBytes(), System.currentTimeMillis() - started);
+    }
+
+    private ChunkMatrix newMatrix(List<ChunkMatrix.Row> rows) {
+        return exactRows != null
+            ? ChunkMatrix.quantized(dimensions, rows, exactRows)
+            : ChunkMatrix.of(dimensions, rows);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        FloatRowStore store = exactRows;
+        if (store != null) store.close();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void loadInBackground() {
+        if (!enabled) return;
+        Thread loader = new Thread(this::load, "local-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /** Pages through every Chunk with its vector, then installs each user's rows in one step. */
+    void load() {
+        long started = System.currentTimeMillis();
+        Map<String, List<ChunkMatrix.Row>> pending = new HashMap<>();
+        int total = 0;
+        try {
+            String after = null;
+            while (true) {
+                List<StoredChunk> page = weaviate.listObjects("Chunk", after, loadPageSize, true, StoredChunk.class);
+                if (page.isEmpty()) break;
+                for (StoredChunk chunk : page) {
+                    StoredChunk.Properties p = chunk.properties();
+                    if (p == null || p.userId() == null || chunk.vector() == null) continue;
+                    pending.computeIfAbsent(p.userId(), u -> new ArrayList<>())
+                           .add(new ChunkMatrix.Row(chunk.id(), p.docId(), p.workspace(), p.text(),
+                                                    p.page() != null ? p.page() : 0, chunk.vector().values()));
+                }
+                total += page.size();
+                after = page.get(page.size() - 1).id();
+            }
+        } catch (Exception e) {
+            log.warn("Local index load failed after {} chunks; search stays on Weaviate", total, e);
+            pending.clear();
+            return;
+        }
+
+        pending.forEach((userId, rows) -> {
+            rows.removeIf(row -> deletedDuringLoad.contains(userId + "/" + row.docId()));
+            if (rows.size() > maxChunksPerUser) {
+                oversized.add(userId);
+                log.info("User {} has {} chunks; searching Weaviate for them", userId, rows.size());
+            } else {
+                append(userId, rows);
+            }
+        });
+        deletedDuringLoad.clear();
+        ready = true;
+        log.info("Local index loaded {} chunks for {} users in {} ms",
+                 total, pending.size(), System.currentTimeMillis() - started);
+    }
+}
@@ -0,0 +1,69 @@
+package com.vectormind.api.vector;
+
+import com.vectormind.api.weaviate.ChunkHit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maximal marginal relevance: picks chunks one at a time, each time taking
+ * the candidate with the best trade-off between similarity to the query and
+ * dissimilarity to what has already been picked, so near-duplicate chunks do
+ * not crowd out the context.
+ */
+public final class Mmr {
+
+    private Mmr() {}
+
+    /**
+     * Selects up to k of the candidates, in pick order. lambda = 1 is plain
+     * relevance order; lower values favour diversity. Candidates without a
+     * vector (keyword-only hits) cannot be compared, so they count as
+     * non-redundant and as relevant as the best candidate that has one.
+     */
+    public static List<ChunkHit> select(float[] query, List<ChunkHit> candidates, int k, double lambda) {
+        int n = candidates.size();
+        if (n <= 1 || k <= 0) return candidates.subList(0, Math.min(k, n));
+
+        float[] q = VectorMath.normalize(query);
+        float[][] unit = new float[n][];
+        double[] relevance = new double[n];
+        double bestRelevance = -1;
+        for (int i = 0; i < n; i++) {
+            Vector v = candidates.get(i).vector();
+            if (v != null && v.dimensions() == q.length) {
+                unit[i] = VectorMath.normalize(v.values());
+                relevance[i] = VectorMath.dot(q, unit[i], 0);
+                bestRelevance = Math.max(bestRelevance, relevance[i]);
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            if (unit[i] == null) relevance[i] = bestRelevance;
+        }
+
+        double[] redundancy = new double[n];   // max similarity to anything picked so far
+        boolean[] picked = new boolean[n];
+        List<ChunkHit> out = new ArrayList<>(Math.min(k, n));
+        while (out.size() < Math.min(k, n)) {
+            int best = -1;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < n; i++) {
+                if (picked[i]) continue;
+                double score = lambda * relevance[i] - (1 - lambda) * redundancy[i];
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = i;
+                }
+            }
+            picked[best] = true;
+            out.add(candidates.get(best));
+            if (unit[best] == null) continue;
+            for (int i = 0; i < n; i++) {
+                if (!picked[i] && unit[i] != null) {
+                    redundancy[i] = Math.max(redundancy[i], VectorMath.dot(unit[best], unit[i], 0));
+                }
+            }
+        }
+        return out;
+    }
+}
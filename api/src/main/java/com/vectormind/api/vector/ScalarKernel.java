@@ -0,0 +1,27 @@
+package com.vectormind.api.vector;
+
+/** Plain Java kernel; four independent sums let the JIT overlap the multiplies. */
+public final class ScalarKernel implements SimilarityKernel {
+
+    @Override
+    public float dot(float[] query, float[] rows, int offset) {
+        int n = query.length;
+        float s0 = 0f, s1 = 0f, s2 = 0f, s3 = 0f;
+        int i = 0;
+        for (; i <= n - 4; i += 4) {
+            s0 += query[i]     * rows[offset + i];
+            s1 += query[i + 1] * rows[offset + i + 1];
+            s2 += query[i + 2] * rows[offset + i + 2];
+            s3 += query[i + 3] * rows[offset + i + 3];
+        }
+        for (; i < n; i++) {
+            s0 += query[i] * rows[offset + i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
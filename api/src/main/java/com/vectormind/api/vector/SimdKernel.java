@@ -0,0 +1,70 @@
+package com.vectormind.api.vector;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernel on the incubating Vector API, at the widest lane count the CPU
+ * offers. Only loadable when the JVM runs with --add-modules
+ * jdk.incubator.vector; VectorMath falls back to ScalarKernel otherwise.
+ */
+public final class SimdKernel implements SimilarityKernel {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    /** Bytes with one lane per float lane, for widening int8 codes; null when no such shape exists. */
+    private static final VectorSpecies<Byte> BYTES = byteSpecies();
+
+    @Override
+    public float dot(float[] query, float[] rows, int offset) {
+        int n = query.length;
+        int upper = SPECIES.loopBound(n);
+        FloatVector acc = FloatVector.zero(SPECIES);
+        int i = 0;
+        for (; i < upper; i += SPECIES.length()) {
+            FloatVector q = FloatVector.fromArray(SPECIES, query, i);
+            FloatVector r = FloatVector.fromArray(SPECIES, rows, offset + i);
+            acc = q.fma(r, acc);
+        }
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++) {
+            sum += query[i] * rows[offset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public float dotInt8(float[] query, byte[] codes, int offset) {
+        if (BYTES == null) {
+            return SimilarityKernel.super.dotInt8(query, codes, offset);
+        }
+        int n = query.length;
+        int step = SPECIES.length();
+        int upper = SPECIES.loopBound(n);
+        FloatVector acc = FloatVector.zero(SPECIES);
+        int i = 0;
+        for (; i < upper; i += step) {
+            FloatVector q = FloatVector.fromArray(SPECIES, query, i);
+            FloatVector c = (FloatVector) ByteVector.fromArray(BYTES, codes, offset + i)
+                                                    .convertShape(VectorOperators.B2F, SPECIES, 0);
+            acc = q.fma(c, acc);
+        }
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++) {
+            sum += query[i] * codes[offset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public String name() {
+        return "simd-" + SPECIES.vectorBitSize();
+    }
+
+    private static VectorSpecies<Byte> byteSpecies() {
+        int bits = SPECIES.length() * Byte.SIZE;
+        return bits >= 64 ? VectorSpecies.of(byte.class, VectorShape.forBitSize(bits)) : null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.vectormind.api.vector;
+
+/** Dot product of a query against rows packed contiguously in one float[]. */
+public interface SimilarityKernel {
+
+    /** Dot product of query with the query.length floats of rows starting at offset. */
+    float dot(float[] query, float[] rows, int offset);
+
+    /** Scores count consecutive rows of query.length floats, starting at row first, into out[first …]. */
+    default void scoreRows(float[] query, float[] rows, int first, int count, float[] out) {
+        int dims = query.length;
+        for (int i = first; i < first + count; i++) {
+            out[i] = dot(query, rows, i * dims);
+        }
+    }
+
+    /** Dot product of query with query.length int8 codes starting at offset, before the row's scale. */
+    default float dotInt8(float[] query, byte[] codes, int offset) {
+        float sum = 0f;
+        for (int i = 0; i < query.length; i++) {
+            sum += query[i] * codes[offset + i];
+        }
+        return sum;
+    }
+
+    String name();
+}
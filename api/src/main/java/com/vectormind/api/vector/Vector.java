@@ -0,0 +1,59 @@
+package com.vectormind.api.vector;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * An embedding held as a primitive float[]. Serialized to and from a plain
+ * JSON number array without boxing a component.
+ */
+@JsonSerialize(using = VectorSerializer.class)
+@JsonDeserialize(using = VectorDeserializer.class)
+public final class Vector {
+
+    private final float[] values;
+
+    public Vector(float[] values) {
+        this.values = values;
+    }
+
+    /** Uniform [0, 1) components; stands in for embeddings while no model is configured. */
+    public static Vector random(int dimensions, Random random) {
+        float[] values = new float[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            values[i] = random.nextFloat();
+        }
+        return new Vector(values);
+    }
+
+    public int dimensions() {
+        return values.length;
+    }
+
+    public float get(int index) {
+        return values[index];
+    }
+
+    /** The backing array, not a copy; callers must not modify it. */
+    public float[] values() {
+        return values;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Vector other && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        return "Vector[" + values.length + "]";
+    }
+}
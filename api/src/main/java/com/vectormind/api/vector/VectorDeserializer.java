@@ -0,0 +1,38 @@
+package com.vectormind.api.vector;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/** Reads a JSON number array straight into a float[]. */
+public class VectorDeserializer extends StdDeserializer<Vector> {
+
+    public VectorDeserializer() {
+        super(Vector.class);
+    }
+
+    @Override
+    public Vector deserialize(JsonParser p, DeserializationContext ctx) throws IOException {
+        if (!p.isExpectedStartArrayToken()) {
+            return (Vector) ctx.handleUnexpectedToken(Vector.class, p);
+        }
+        return read(p);
+    }
+
+    /** Reads the array the parser is positioned on, leaving it on END_ARRAY. */
+    public static Vector read(JsonParser p) throws IOException {
+        float[] values = new float[384];
+        int n = 0;
+        for (JsonToken t = p.nextToken(); t != JsonToken.END_ARRAY; t = p.nextToken()) {
+            if (n == values.length) {
+                values = Arrays.copyOf(values, n * 2);
+            }
+            values[n++] = p.getFloatValue();
+        }
+        return new Vector(n == values.length ? values : Arrays.copyOf(values, n));
+    }
+}
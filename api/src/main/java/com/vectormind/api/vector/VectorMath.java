@@ -0,0 +1,48 @@
+package com.vectormind.api.vector;
+
+import org.slf4j.LoggerFactory;
+
+/** Kernels shared by the in-process indexes. */
+public final class VectorMath {
+
+    private static final SimilarityKernel KERNEL = detectKernel();
+
+    private VectorMath() {}
+
+    /** The kernel in use: SIMD when jdk.incubator.vector is available, scalar otherwise. */
+    public static SimilarityKernel kernel() {
+        return KERNEL;
+    }
+
+    /** Dot product of a.length components of a with row b[offset …]. */
+    public static float dot(float[] a, float[] b, int offset) {
+        return KERNEL.dot(a, b, offset);
+    }
+
+    /** A unit-length copy; the zero vector is returned unchanged. */
+    public static float[] normalize(float[] v) {
+        double norm = 0;
+        for (float x : v) norm += (double) x * x;
+        float[] out = v.clone();
+        if (norm == 0) return out;
+        float inv = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < out.length; i++) out[i] *= inv;
+        return out;
+    }
+
+    private static SimilarityKernel detectKernel() {
+        SimilarityKernel kernel = new ScalarKernel();
+        if (!Boolean.getBoolean("vectormind.simd.disabled")
+                && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                // by name: SimdKernel is compiled in its own execution, after this class (see pom.xml)
+                kernel = (SimilarityKernel) Class.forName("com.vectormind.api.vector.SimdKernel")
+                                                  .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // module present but not usable on this JVM; keep the scalar kernel
+            }
+        }
+        LoggerFactory.getLogger(VectorMath.class).info("Similarity kernel: {}", kernel.name());
+        return kernel;
+    }
+}
@@ -0,0 +1,25 @@
+package com.vectormind.api.vector;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/** Writes a Vector as a JSON array, one float at a time. */
+public class VectorSerializer extends StdSerializer<Vector> {
+
+    public VectorSerializer() {
+        super(Vector.class);
+    }
+
+    @Override
+    public void serialize(Vector vector, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        float[] values = vector.values();
+        gen.writeStartArray(vector, values.length);
+        for (float v : values) {
+            gen.writeNumber(v);
+        }
+        gen.writeEndArray();
+    }
+}
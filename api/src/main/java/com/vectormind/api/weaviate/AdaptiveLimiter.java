@@ -0,0 +1,99 @@
+package com.vectormind.api.weaviate;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AIMD concurrency limit. Callers take a slot before each request and hand
+ * it back with the outcome. The limit grows by one per round trip while
+ * requests come back fast and it is actually being used. It shrinks
+ * multiplicatively on an error, or when latency rises past {@code tolerance}
+ * times the baseline. The baseline is the lowest recent latency. It drops
+ * to a new low at once and creeps up slowly, so it follows lasting shifts.
+ */
+public final class AdaptiveLimiter {
+
+    /** Latencies below this never count as congestion, however small the baseline. */
+    private static final long MIN_SLOW_NANOS = 50_000_000L;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotFreed = lock.newCondition();
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoff;
+    private final double tolerance;
+
+    private double limit;
+    private int inFlight;
+    private double baselineNanos = -1;
+    /** Requests started before the last decrease saw the same congestion and don't decrease again. */
+    private long lastDecreaseNanos = Long.MIN_VALUE;
+
+    public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, double backoff, double tolerance) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.max(this.minLimit, Math.min(this.maxLimit, initialLimit));
+        this.backoff = backoff;
+        this.tolerance = tolerance;
+    }
+
+    /** Blocks until a slot is free; returns the start timestamp to pass to {@link #release}. */
+    public long acquire() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (inFlight >= (int) limit) {
+                slotFreed.await();
+            }
+            inFlight++;
+            return System.nanoTime();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns a slot taken at {@code startNanos}; {@code failed} for errors and rejected writes. */
+    public void release(long startNanos, boolean failed) {
+        long now = System.nanoTime();
+        long rtt = now - startNanos;
+        lock.lock();
+        try {
+            boolean saturated = inFlight * 2 >= (int) limit;
+            inFlight--;
+
+            if (!failed) {
+                baselineNanos = baselineNanos < 0 ? rtt : Math.min(rtt, baselineNanos + (rtt - baselineNanos) * 0.001);
+            }
+            boolean slow = !failed && rtt > Math.max(baselineNanos * tolerance, MIN_SLOW_NANOS);
+
+            if (failed || slow) {
+                if (startNanos > lastDecreaseNanos) {
+                    limit = Math.max(minLimit, limit * backoff);
+                    lastDecreaseNanos = now;
+                }
+            } else if (saturated) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            slotFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int limit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.vectormind.api.weaviate;
+
+/** Totals of one or more /v1/batch/objects deletes. */
+public record BatchDeleteResult(long matches, long successful, long failed) {
+
+    public static final BatchDeleteResult NONE = new BatchDeleteResult(0, 0, 0);
+
+    BatchDeleteResult plus(BatchDeleteResult other) {
+        return new BatchDeleteResult(matches + other.matches, successful + other.successful, failed + other.failed);
+    }
+}
@@ -0,0 +1,53 @@
+package com.vectormind.api.weaviate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Which of a user's chunks a search may return: optionally only those of
+ * certain documents and/or one workspace. The same filter is applied by the
+ * in-process indexes and pushed into Weaviate's where clause, so either way
+ * the candidate set shrinks before any vector is scored.
+ */
+public record ChunkFilter(Set<String> docIds, String workspace) {
+
+    public static final ChunkFilter NONE = new ChunkFilter(Set.of(), null);
+
+    public ChunkFilter {
+        docIds = docIds == null ? Set.of() : Set.copyOf(docIds);
+        workspace = workspace == null || workspace.isBlank() ? null : workspace;
+    }
+
+    public static ChunkFilter document(String docId) {
+        return new ChunkFilter(Set.of(docId), null);
+    }
+
+    public boolean isEmpty() {
+        return docIds.isEmpty() && workspace == null;
+    }
+
+    /** The single document this filter selects, or null when it is broader. */
+    public String singleDocument() {
+        return docIds.size() == 1 && workspace == null ? docIds.iterator().next() : null;
+    }
+
+    public boolean matches(String docId, String chunkWorkspace) {
+        return (docIds.isEmpty() || docIds.contains(docId))
+            && (workspace == null || workspace.equals(chunkWorkspace));
+    }
+
+    /** Weaviate where-filter for the user's chunks that match. */
+    public Map<String, Object> toWhere(String userId) {
+        List<Map<String, Object>> operands = new ArrayList<>(3);
+        operands.add(WhereFilter.equal("userId", userId));
+        if (!docIds.isEmpty()) {
+            operands.add(WhereFilter.or(docIds.stream().sorted().map(id -> WhereFilter.equal("docId", id)).toList()));
+        }
+        if (workspace != null) {
+            operands.add(WhereFilter.equal("workspace", workspace));
+        }
+        return WhereFilter.and(operands);
+    }
+}
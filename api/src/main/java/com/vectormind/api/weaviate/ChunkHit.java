@@ -0,0 +1,60 @@
+package com.vectormind.api.weaviate;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.vectormind.api.vector.Vector;
+import com.vectormind.api.vector.VectorDeserializer;
+
+import java.io.IOException;
+
+import static com.vectormind.api.weaviate.GraphQLResponseDecoder.*;
+
+/**
+ * One Chunk returned by a Get query: text page docId userId
+ * _additional { certainty [vector] }. The vector is null unless it was selected.
+ */
+public record ChunkHit(String text, Integer page, String docId, String userId, Double certainty, Vector vector) {
+
+    public ChunkHit(String text, Integer page, String docId, String userId, Double certainty) {
+        this(text, page, docId, userId, certainty, null);
+    }
+
+    public static final HitReader<ChunkHit> READER = p -> {
+        String text = null, docId = null, userId = null;
+        Integer page = null;
+        Double[] certainty = new Double[1];
+        Vector[] vector = new Vector[1];
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "text"   -> text   = readText(p);
+                case "page"   -> page   = readInt(p);
+                case "docId"  -> docId  = readText(p);
+                case "userId" -> userId = readText(p);
+                case "_additional" -> readAdditional(p, certainty, vector);
+                default -> p.skipChildren();
+            }
+        }
+        return new ChunkHit(text, page, docId, userId, certainty[0], vector[0]);
+    };
+
+    private static void readAdditional(JsonParser p, Double[] certainty, Vector[] vector) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return;
+        }
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "certainty" -> certainty[0] = readDouble(p);
+                case "vector" -> {
+                    if (p.currentToken() == JsonToken.START_ARRAY) vector[0] = VectorDeserializer.read(p);
+                    else p.skipChildren();
+                }
+                default -> p.skipChildren();
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.vectormind.api.weaviate;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.util.Map;
+
+import static com.vectormind.api.weaviate.GraphQLResponseDecoder.*;
+
+/**
+ * One Document returned by a Get query. Serializes back to the shape Weaviate
+ * returned it in (id under _additional), which is what the frontend reads.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DocumentSummary(
+    @JsonIgnore String id,
+    String title,
+    Boolean processed,
+    Integer pages,
+    String workspace,
+    String source,
+    String userId,
+    String createdAt,
+    String updatedAt
+) {
+
+    @JsonProperty("_additional")
+    public Map<String, String> additional() {
+        return id != null ? Map.of("id", id) : Map.of();
+    }
+
+    public static final HitReader<DocumentSummary> READER = p -> {
+        String id = null, title = null, workspace = null, source = null, userId = null;
+        String createdAt = null, updatedAt = null;
+        Boolean processed = null;
+        Integer pages = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "title"     -> title     = readText(p);
+                case "processed" -> processed = readBool(p);
+                case "pages"     -> pages     = readInt(p);
+                case "workspace" -> workspace = readText(p);
+                case "source"    -> source    = readText(p);
+                case "userId"    -> userId    = readText(p);
+                case "createdAt" -> createdAt = readText(p);
+                case "updatedAt" -> updatedAt = readText(p);
+                case "_additional" -> {
+                    if (p.currentToken() != JsonToken.START_OBJECT) {
+                        p.skipChildren();
+                        break;
+                    }
+                    while (p.nextToken() == JsonToken.FIELD_NAME) {
+                        String extra = p.currentName();
+                        p.nextToken();
+                        if ("id".equals(extra)) id = readText(p); else p.skipChildren();
+                    }
+                }
+                default -> p.skipChildren();
+            }
+        }
+        return new DocumentSummary(id, title, processed, pages, workspace, source, userId, createdAt, updatedAt);
+    };
+}
@@ -0,0 +1,129 @@
+package com.vectormind.api.weaviate;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Streams a Weaviate GraphQL response and decodes data.&lt;operation&gt;.&lt;class&gt;
+ * straight into typed hits. Everything else in the payload is skipped token
+ * by token, so long fields nobody asked for never become Strings or Maps.
+ */
+public class GraphQLResponseDecoder {
+
+    private final JsonFactory jsonFactory;
+
+    public GraphQLResponseDecoder(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * Decodes the hits listed under data.{operation}.{className}; an absent
+     * list decodes as empty. Throws WeaviateQueryException if the response
+     * carries GraphQL errors.
+     */
+    public <T> List<T> decode(InputStream body, String operation, String className, HitReader<T> reader)
+            throws IOException {
+        return decode(body, operation, className::equals, reader).getOrDefault(className, List.of());
+    }
+
+    /**
+     * Decodes every list under data.{operation}, keyed by its name or alias,
+     * for multi-query requests such as { Get { q0: Chunk(…) q1: Chunk(…) } }.
+     */
+    public <T> Map<String, List<T>> decodeAll(InputStream body, String operation, HitReader<T> reader)
+            throws IOException {
+        return decode(body, operation, name -> true, reader);
+    }
+
+    private <T> Map<String, List<T>> decode(InputStream body, String operation, Predicate<String> wanted,
+                                            HitReader<T> reader) throws IOException {
+        Map<String, List<T>> hits = new LinkedHashMap<>();
+        List<String> errors = new ArrayList<>();
+
+        try (JsonParser p = jsonFactory.createParser(body)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new WeaviateQueryException("Null response from Weaviate");
+            }
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                if ("data".equals(field) && p.currentToken() == JsonToken.START_OBJECT) {
+                    readData(p, operation, wanted, reader, hits);
+                } else if ("errors".equals(field) && p.currentToken() == JsonToken.START_ARRAY) {
+                    readErrors(p, errors);
+                } else {
+                    p.skipChildren();
+                }
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            throw new WeaviateQueryException("GraphQL errors: " + String.join("; ", errors));
+        }
+        return hits;
+    }
+
+    private <T> void readData(JsonParser p, String operation, Predicate<String> wanted,
+                              HitReader<T> reader, Map<String, List<T>> hits) throws IOException {
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            if (operation.equals(field) && p.currentToken() == JsonToken.START_OBJECT) {
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String cls = p.currentName();
+                    p.nextToken();
+                    if (wanted.test(cls) && p.currentToken() == JsonToken.START_ARRAY) {
+                        List<T> list = hits.computeIfAbsent(cls, c -> new ArrayList<>());
+                        while (p.nextToken() == JsonToken.START_OBJECT) {
+                            list.add(reader.read(p));
+                        }
+                    } else {
+                        p.skipChildren();
+                    }
+                }
+            } else {
+                p.skipChildren();
+            }
+        }
+    }
+
+    private void readErrors(JsonParser p, List<String> errors) throws IOException {
+        while (p.nextToken() == JsonToken.START_OBJECT) {
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                if ("message".equals(field)) {
+                    errors.add(p.getValueAsString());
+                } else {
+                    p.skipChildren();
+                }
+            }
+        }
+    }
+
+    /** Reads the current scalar as a String, or null for JSON null. */
+    static String readText(JsonParser p) throws IOException {
+        return p.currentToken() == JsonToken.VALUE_NULL ? null : p.getValueAsString();
+    }
+
+    static Integer readInt(JsonParser p) throws IOException {
+        return p.currentToken() == JsonToken.VALUE_NULL ? null : p.getValueAsInt();
+    }
+
+    static Double readDouble(JsonParser p) throws IOException {
+        return p.currentToken() == JsonToken.VALUE_NULL ? null : p.getValueAsDouble();
+    }
+
+    static Boolean readBool(JsonParser p) throws IOException {
+        return p.currentToken() == JsonToken.VALUE_NULL ? null : p.getValueAsBoolean();
+    }
+}
@@ -0,0 +1,15 @@
+package com.vectormind.api.weaviate;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+
+/**
+ * Reads one result object from a GraphQL response. The parser is positioned
+ * on the object's START_OBJECT and must be left on its END_OBJECT; fields the
+ * reader does not need are skipped without being materialized.
+ */
+@FunctionalInterface
+public interface HitReader<T> {
+    T read(JsonParser p) throws IOException;
+}
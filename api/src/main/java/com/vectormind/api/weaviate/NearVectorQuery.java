@@ -0,0 +1,167 @@
+package com.vectormind.api.weaviate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a Get … nearVector request. The vector is written from a float[]
+ * straight into a per-thread buffer with a compact fixed-point format; the
+ * where-filter travels as a GraphQL variable.
+ */
+public final class NearVectorQuery {
+
+    private static final ThreadLocal<StringBuilder> BUFFER =
+        ThreadLocal.withInitial(() -> new StringBuilder(8 * 1024));
+
+    /** Fractional digits kept per component; absolute error ≤ 5e-8, below float32 noise for unit vectors. */
+    private static final int FRACTION_DIGITS = 7;
+    private static final long SCALE = 10_000_000L;
+
+    private final String className;
+    private float[] vector;
+    private int limit = 10;
+    private String fields = "";
+    private Map<String, Object> where;
+
+    private NearVectorQuery(String className) {
+        this.className = className;
+    }
+
+    public static NearVectorQuery of(String className) {
+        return new NearVectorQuery(className);
+    }
+
+    public NearVectorQuery vector(float[] vector) {
+        this.vector = vector;
+        return this;
+    }
+
+    public NearVectorQuery limit(int limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    /** Selection set, e.g. "text page docId _additional { certainty }". */
+    public NearVectorQuery fields(String fields) {
+        this.fields = fields;
+        return this;
+    }
+
+    public NearVectorQuery where(Map<String, Object> where) {
+        this.where = where;
+        return this;
+    }
+
+    /** The query text on its own, without variables. */
+    public String query() {
+        StringBuilder sb = BUFFER.get();
+        sb.setLength(0);
+        if (where != null) {
+            sb.append("query($where: GetObjects").append(className).append("WhereInpObj) ");
+        }
+        sb.append("{ Get { ");
+        appendSelection(sb, "where");
+        sb.append(" } }");
+        return sb.toString();
+    }
+
+    /** Request body for WeaviateClient.graphql: query plus variables. */
+    public Map<String, Object> toRequestBody() {
+        Map<String, Object> body = new HashMap<>(4);
+        body.put("query", query());
+        if (where != null) {
+            body.put("variables", Map.of("where", where));
+        }
+        return body;
+    }
+
+    /**
+     * Request body for WeaviateClient.graphqlAll running several queries in
+     * one round trip. They are aliased q0, q1, … in list order, and each
+     * keeps its own where-filter as variable $w0, $w1, ….
+     */
+    public static Map<String, Object> batchRequestBody(List<NearVectorQuery> queries) {
+        StringBuilder sb = BUFFER.get();
+        sb.setLength(0);
+        Map<String, Object> variables = new HashMap<>();
+        for (int i = 0; i < queries.size(); i++) {
+            NearVectorQuery q = queries.get(i);
+            if (q.where == null) continue;
+            sb.append(variables.isEmpty() ? "query(" : ", ")
+              .append("$w").append(i).append(": GetObjects").append(q.className).append("WhereInpObj");
+            variables.put("w" + i, q.where);
+        }
+        if (!variables.isEmpty()) sb.append(") ");
+        sb.append("{ Get { ");
+        for (int i = 0; i < queries.size(); i++) {
+            sb.append('q').append(i).append(": ");
+            queries.get(i).appendSelection(sb, "w" + i);
+            sb.append(' ');
+        }
+        sb.append("} }");
+
+        Map<String, Object> body = new HashMap<>(4);
+        body.put("query", sb.toString());
+        if (!variables.isEmpty()) {
+            body.put("variables", variables);
+        }
+        return body;
+    }
+
+    private void appendSelection(StringBuilder sb, String whereVariable) {
+        sb.append(className).append('(');
+        if (where != null) {
+            sb.append("where: $").append(whereVariable).append(", ");
+        }
+        sb.append("nearVector: { vector: ");
+        appendVector(sb, vector);
+        sb.append(" }, limit: ").append(limit).append(") { ").append(fields).append(" }");
+    }
+
+    static void appendVector(StringBuilder sb, float[] vector) {
+        sb.append('[');
+        for (int i = 0; i < vector.length; i++) {
+            if (i > 0) sb.append(',');
+            appendFloat(sb, vector[i]);
+        }
+        sb.append(']');
+    }
+
+    /** Fixed-point with up to 7 fractional digits, trailing zeros dropped: 0.0123457, -1, 0.5. */
+    static void appendFloat(StringBuilder sb, float value) {
+        if (!Float.isFinite(value) || Math.abs(value) >= 1e9f) {
+            sb.append(Float.isFinite(value) ? Float.toString(value) : "0");
+            return;
+        }
+        long scaled = Math.round((double) value * SCALE);
+        if (scaled == 0) {
+            sb.append('0');
+            return;
+        }
+        if (scaled < 0) {
+            sb.append('-');
+            scaled = -scaled;
+        }
+        sb.append(scaled / SCALE);
+        long fraction = scaled % SCALE;
+        if (fraction == 0) return;
+
+        int digits = FRACTION_DIGITS;
+        while (fraction % 10 == 0) {
+            fraction /= 10;
+            digits--;
+        }
+        sb.append('.');
+        for (long pad = fraction * 10; pad < pow10(digits); pad *= 10) {
+            sb.append('0');
+        }
+        sb.append(fraction);
+    }
+
+    private static long pow10(int n) {
+        long p = 1;
+        for (int i = 0; i < n; i++) p *= 10;
+        return p;
+    }
+}
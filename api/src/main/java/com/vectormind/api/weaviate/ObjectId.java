@@ -0,0 +1,7 @@
+package com.vectormind.api.weaviate;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/** Just the id of an object listed by GET /v1/objects, for scans that need nothing else. */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ObjectId(String id) {}
@@ -0,0 +1,9 @@
+package com.vectormind.api.weaviate;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/** One page of GET /v1/objects. */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ObjectPage<T>(List<T> objects) {}
@@ -0,0 +1,63 @@
+package com.vectormind.api.weaviate;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.vectormind.api.vector.Vector;
+import com.vectormind.api.vector.VectorDeserializer;
+
+import java.io.IOException;
+
+import static com.vectormind.api.weaviate.GraphQLResponseDecoder.*;
+
+/**
+ * A Chunk object with its id and vector, as listed by GET /v1/objects or
+ * returned by a Get query selecting text page docId userId workspace _additional { id vector }.
+ * Only the REST listing carries the creation time (epoch millis).
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record StoredChunk(String id, Properties properties, Vector vector, Long creationTimeUnix) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Properties(String text, Integer page, String docId, String userId, String workspace) {}
+
+    public static final HitReader<StoredChunk> READER = p -> {
+        String text = null, docId = null, userId = null, workspace = null;
+        Integer page = null;
+        String[] id = new String[1];
+        Vector[] vector = new Vector[1];
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "text"   -> text   = readText(p);
+                case "page"   -> page   = readInt(p);
+                case "docId"  -> docId  = readText(p);
+                case "userId" -> userId = readText(p);
+                case "workspace" -> workspace = readText(p);
+                case "_additional" -> readAdditional(p, id, vector);
+                default -> p.skipChildren();
+            }
+        }
+        return new StoredChunk(id[0], new Properties(text, page, docId, userId, workspace), vector[0], null);
+    };
+
+    private static void readAdditional(JsonParser p, String[] id, Vector[] vector) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return;
+        }
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "id"     -> id[0] = readText(p);
+                case "vector" -> {
+                    if (p.currentToken() == JsonToken.START_ARRAY) vector[0] = VectorDeserializer.read(p);
+                    else p.skipChildren();
+                }
+                default -> p.skipChildren();
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.vectormind.api.weaviate;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/** A Document object as listed by GET /v1/objects, with the properties scans need. */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record StoredDocument(String id, Properties properties) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Properties(String title, String userId, String workspace) {}
+}
@@ -0,0 +1,260 @@
+package com.vectormind.api.weaviate;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vectormind.api.config.WeaviateConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Typed access to Weaviate's GraphQL endpoint. Responses are decoded while
+ * they stream in, straight into the caller's hit type. Object writes from
+ * every ingestion path share one adaptive concurrency limit.
+ */
+@Service
+public class WeaviateClient {
+
+    private final RestTemplate rest;
+    private final WeaviateConfig weaviateConfig;
+    private final String weaviateApiKey;
+    private final ObjectMapper objectMapper;
+    private final GraphQLResponseDecoder decoder;
+    private final AdaptiveLimiter writeLimiter;
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observations;
+
+    public WeaviateClient(
+        @Qualifier("weaviateRestTemplate") RestTemplate rest,
+        WeaviateConfig weaviateConfig,
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry,
+        ObservationRegistry observations,
+        @Value("${weaviate.api-key:}") String weaviateApiKey,
+        @Value("${weaviate.write-limit.initial:4}") int initialWriteLimit,
+        @Value("${weaviate.write-limit.min:1}") int minWriteLimit,
+        @Value("${weaviate.write-limit.max:32}") int maxWriteLimit,
+        @Value("${weaviate.write-limit.backoff:0.7}") double backoff,
+        @Value("${weaviate.write-limit.latency-tolerance:2.0}") double latencyTolerance
+    ) {
+        this.rest = rest;
+        this.weaviateConfig = weaviateConfig;
+        this.objectMapper = objectMapper;
+        this.weaviateApiKey = weaviateApiKey;
+        this.decoder = new GraphQLResponseDecoder(objectMapper.getFactory());
+        this.meterRegistry = meterRegistry;
+        this.observations = observations;
+        this.writeLimiter = new AdaptiveLimiter(initialWriteLimit, minWriteLimit, maxWriteLimit, backoff, latencyTolerance);
+        Gauge.builder("weaviate.write.limit", writeLimiter, AdaptiveLimiter::limit).register(meterRegistry);
+        Gauge.builder("weaviate.write.in_flight", writeLimiter, AdaptiveLimiter::inFlight).register(meterRegistry);
+    }
+
+    public HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (weaviateApiKey != null && !weaviateApiKey.isEmpty()) {
+            headers.set("Authorization", "Bearer " + weaviateApiKey);
+        }
+        return headers;
+    }
+
+    /** Runs a Get query and decodes data.Get.{className}. */
+    public <T> List<T> get(String query, String className, HitReader<T> reader) {
+        return graphql(Map.of("query", query), "Get", className, reader);
+    }
+
+    /** Posts a GraphQL request body and decodes data.{operation}.{className}. */
+    public <T> List<T> graphql(Map<String, ?> body, String operation, String className, HitReader<T> reader) {
+        HttpHeaders headers = headers();
+        return timed("query", () -> rest.execute(
+            weaviateConfig.getGraphQLEndpoint(),
+            HttpMethod.POST,
+            request -> {
+                request.getHeaders().putAll(headers);
+                objectMapper.writeValue(request.getBody(), body);
+            },
+            response -> decoder.decode(response.getBody(), operation, className, reader)
+        ));
+    }
+
+    /**
+     * Posts a multi-query GraphQL request body and decodes every list under
+     * data.{operation}, keyed by alias.
+     */
+    public <T> Map<String, List<T>> graphqlAll(Map<String, ?> body, String operation, HitReader<T> reader) {
+        HttpHeaders headers = headers();
+        return timed("query_batch", () -> rest.execute(
+            weaviateConfig.getGraphQLEndpoint(),
+            HttpMethod.POST,
+            request -> {
+                request.getHeaders().putAll(headers);
+                objectMapper.writeValue(request.getBody(), body);
+            },
+            response -> decoder.decodeAll(response.getBody(), operation, reader)
+        ));
+    }
+
+    /** Creates one object (class, id, properties, optional vector) under the write limit. */
+    public void createObject(Map<String, ?> object) throws InterruptedException {
+        HttpHeaders headers = headers();
+        limitedWrite(() -> timed("write", () -> {
+            rest.postForEntity(weaviateConfig.getObjectsEndpoint(), new HttpEntity<>(object, headers), String.class);
+            return 0;
+        }));
+    }
+
+    /**
+     * Merges the given properties into one existing object with PATCH, under
+     * the write limit. Weaviate answers 204; anything else surfaces as the
+     * RestTemplate's exception and counts against the limit.
+     */
+    public void patchObject(String className, String id, Map<String, ?> properties) throws InterruptedException {
+        HttpHeaders headers = headers();
+        limitedWrite(() -> timed("patch", () -> {
+            rest.exchange(weaviateConfig.getObjectsEndpoint() + "/{class}/{id}", HttpMethod.PATCH,
+                new HttpEntity<>(Map.of("properties", properties), headers), Void.class, className, id);
+            return 0;
+        }));
+    }
+
+    /**
+     * Creates objects with one /v1/batch/objects request under the write
+     * limit. Throws WeaviateQueryException if Weaviate rejects any of them;
+     * rejections count against the limit like errors do.
+     */
+    public void batchObjects(List<? extends Map<String, ?>> objects) throws InterruptedException {
+        HttpHeaders headers = headers();
+        int rejected = limitedWrite(() -> timed("batch_write", () -> {
+            JsonNode results = rest.execute(
+                weaviateConfig.getBatchObjectsEndpoint(),
+                HttpMethod.POST,
+                request -> {
+                    request.getHeaders().putAll(headers);
+                    objectMapper.writeValue(request.getBody(), Map.of("objects", objects));
+                },
+                response -> objectMapper.readTree(response.getBody())
+            );
+            int errors = 0;
+            if (results != null) {
+                for (JsonNode result : results) {
+                    if (result.path("result").path("errors").path("error").size() > 0) errors++;
+                }
+            }
+            return errors;
+        }));
+        if (rejected > 0) {
+            throw new WeaviateQueryException(rejected + " of " + objects.size() + " objects rejected by batch import");
+        }
+    }
+
+    /**
+     * Deletes every object of the class matching the filter with
+     * /v1/batch/objects. Weaviate removes at most its query limit per
+     * request, so this repeats until a round comes back short.
+     */
+    public BatchDeleteResult deleteWhere(String className, Map<String, Object> where) {
+        HttpHeaders headers = headers();
+        Map<String, Object> body = Map.of(
+            "match", Map.of("class", className, "where", where),
+            "output", "minimal"
+        );
+        BatchDeleteResult total = BatchDeleteResult.NONE;
+        while (true) {
+            JsonNode response = timed("delete", () -> rest.execute(
+                weaviateConfig.getBatchObjectsEndpoint(),
+                HttpMethod.DELETE,
+                request -> {
+                    request.getHeaders().putAll(headers);
+                    objectMapper.writeValue(request.getBody(), body);
+                },
+                r -> objectMapper.readTree(r.getBody())
+            ));
+            JsonNode results = response == null ? null : response.path("results");
+            if (results == null || results.isMissingNode()) {
+                throw new WeaviateQueryException("Batch delete of " + className + " returned no results");
+            }
+            BatchDeleteResult round = new BatchDeleteResult(
+                results.path("matches").asLong(), results.path("successful").asLong(), results.path("failed").asLong());
+            total = total.plus(round);
+            long limit = results.path("limit").asLong(Long.MAX_VALUE);
+            if (round.successful() == 0 || round.failed() > 0 || round.matches() < limit) {
+                return total;
+            }
+        }
+    }
+
+    /**
+     * Runs one request, timed as weaviate.requests and traced as a span of
+     * its own; time spent waiting for a write slot is not included.
+     */
+    private <T> T timed(String operation, Supplier<T> request) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = Observation.createNotStarted("stage.weaviate", observations)
+                .contextualName("weaviate " + operation)
+                .lowCardinalityKeyValue("operation", operation)
+                .observe(request);
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(meterRegistry.timer("weaviate.requests", "operation", operation, "outcome", outcome));
+        }
+    }
+
+    /** Runs a write in a limiter slot; the write returns how many objects Weaviate rejected. */
+    private int limitedWrite(Supplier<Integer> write) throws InterruptedException {
+        long start = writeLimiter.acquire();
+        boolean failed = true;
+        try {
+            int rejected = write.get();
+            failed = rejected > 0;
+            return rejected;
+        } finally {
+            writeLimiter.release(start, failed);
+        }
+    }
+
+    /**
+     * Lists one page of a class's objects in id order, starting after the
+     * given id (null for the first page). Pages are empty once exhausted.
+     */
+    public <T> List<T> listObjects(String className, String after, int limit, boolean includeVector, Class<T> type) {
+        // a URI template, so the cursor stays out of the http.client.requests uri tag
+        StringBuilder url = new StringBuilder(weaviateConfig.getObjectsEndpoint())
+            .append("?class={class}&limit={limit}");
+        Map<String, Object> variables = new HashMap<>(Map.of("class", className, "limit", limit));
+        if (after != null) {
+            url.append("&after={after}");
+            variables.put("after", after);
+        }
+        if (includeVector) url.append("&include=vector");
+
+        HttpHeaders headers = headers();
+        JavaType pageType = objectMapper.getTypeFactory().constructParametricType(ObjectPage.class, type);
+        ObjectPage<T> page = timed("list", () -> rest.execute(
+            url.toString(),
+            HttpMethod.GET,
+            request -> request.getHeaders().putAll(headers),
+            response -> objectMapper.readValue(response.getBody(), pageType),
+            variables
+        ));
+        return page == null || page.objects() == null ? List.of() : page.objects();
+    }
+}
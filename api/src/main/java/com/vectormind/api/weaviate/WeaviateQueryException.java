@@ -0,0 +1,9 @@
+package com.vectormind.api.weaviate;
+
+/** A GraphQL response from Weaviate that carried errors instead of (or alongside) data. */
+public class WeaviateQueryException extends RuntimeException {
+
+    public WeaviateQueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,30 @@
+package com.vectormind.api.weaviate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Weaviate where-filters as plain maps, sent as GraphQL variables rather than
+ * spliced into the query text, so values never need escaping.
+ */
+public final class WhereFilter {
+
+    private WhereFilter() {}
+
+    public static Map<String, Object> equal(String property, String value) {
+        return Map.of("path", List.of(property), "operator", "Equal", "valueText", value);
+    }
+
+    /** Wildcard match: * for any run of characters, ? for one. */
+    public static Map<String, Object> like(String property, String pattern) {
+        return Map.of("path", List.of(property), "operator", "Like", "valueText", pattern);
+    }
+
+    public static Map<String, Object> and(List<Map<String, Object>> operands) {
+        return operands.size() == 1 ? operands.get(0) : Map.of("operator", "And", "operands", operands);
+    }
+
+    public static Map<String, Object> or(List<Map<String, Object>> operands) {
+        return operands.size() == 1 ? operands.get(0) : Map.of("operator", "Or", "operands", operands);
+    }
+}
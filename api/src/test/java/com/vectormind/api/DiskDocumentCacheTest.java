@@ -0,0 +1,53 @@
+package com.vectormind.api;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DiskDocumentCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private static byte[] readAll(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+        while (buffer.hasRemaining() && channel.read(buffer) > 0) { }
+        return buffer.array();
+    }
+
+    @Test
+    void opensSpilledDocumentsAsChannels() throws IOException {
+        DiskDocumentCache cache = new DiskDocumentCache(dir, 1024);
+        byte[] content = "spilled pdf bytes".getBytes(StandardCharsets.UTF_8);
+        cache.put("u/doc", content);
+
+        try (FileChannel channel = cache.open("u/doc")) {
+            assertEquals(content.length, channel.size());
+            assertArrayEquals(content, readAll(channel));
+        }
+        assertNull(cache.open("u/other"));
+    }
+
+    @Test
+    void openChannelOutlivesEviction() throws IOException {
+        DiskDocumentCache cache = new DiskDocumentCache(dir, 1024);
+        byte[] content = new byte[600];
+        cache.put("u/old", content);
+
+        try (FileChannel channel = cache.open("u/old")) {
+            cache.put("u/new", new byte[600]);   // over budget: evicts u/old
+            assertNull(cache.open("u/old"));
+            assertArrayEquals(content, readAll(channel));
+        }
+        assertEquals(600, cache.totalBytes());
+    }
+}
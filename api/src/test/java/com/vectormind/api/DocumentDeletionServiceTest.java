@@ -0,0 +1,110 @@
+package com.vectormind.api;
+
+import com.vectormind.api.controller.ContentTagCache;
+import com.vectormind.api.keyword.KeywordIndex;
+import com.vectormind.api.vector.DocumentVectorCache;
+import com.vectormind.api.vector.LocalVectorIndex;
+import com.vectormind.api.weaviate.BatchDeleteResult;
+import com.vectormind.api.weaviate.WeaviateClient;
+import com.vectormind.api.weaviate.WhereFilter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class DocumentDeletionServiceTest {
+
+    @TempDir
+    Path uploads;
+
+    private final WeaviateClient weaviate = mock(WeaviateClient.class);
+    private final DocumentReferenceRepository references = mock(DocumentReferenceRepository.class);
+    private final DocumentCacheService documentCache = mock(DocumentCacheService.class);
+    private final ContentTagCache contentTags = mock(ContentTagCache.class);
+    private final LocalVectorIndex localIndex = mock(LocalVectorIndex.class);
+    private final DocumentVectorCache documentVectors = mock(DocumentVectorCache.class);
+    private final KeywordIndex keywordIndex = mock(KeywordIndex.class);
+
+    private DocumentDeletionService service() {
+        return new DocumentDeletionService(weaviate, references, documentCache, contentTags,
+            localIndex, documentVectors, keywordIndex, uploads);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void everyWeaviateDeleteIsScopedToTheCaller() throws IOException {
+        Path file = Files.write(uploads.resolve("doc-1.pdf"), new byte[] {1, 2, 3});
+        when(weaviate.deleteWhere(anyString(), any())).thenReturn(new BatchDeleteResult(3, 3, 0));
+        when(references.findByDocIdAndUserId("doc-1", "alice"))
+            .thenReturn(Optional.of(new DocumentReference("doc-1", "alice", "a.pdf", null, "upload")));
+
+        DocumentDeletionService.Deletion deletion = service().delete("alice", "doc-1");
+
+        assertEquals(new DocumentDeletionService.Deletion(true, 3, true), deletion);
+        assertFalse(Files.exists(file));
+        ArgumentCaptor<Map<String, Object>> where = ArgumentCaptor.forClass(Map.class);
+        verify(weaviate, times(2)).deleteWhere(anyString(), where.capture());
+        for (Map<String, Object> filter : where.getAllValues()) {
+            assertTrue(((List<?>) filter.get("operands")).contains(WhereFilter.equal("userId", "alice")), filter.toString());
+        }
+        verify(references).deleteById("doc-1");
+        verify(documentCache).evictDocument("doc-1", "alice");
+        verify(localIndex).removeDocument("alice", "doc-1");
+        verify(documentVectors).evict("alice", "doc-1");
+        verify(keywordIndex).removeDocument("alice", "doc-1");
+    }
+
+    @Test
+    void anotherUsersDocumentIsLeftAlone() throws IOException {
+        Path file = Files.write(uploads.resolve("doc-1.pdf"), new byte[] {1, 2, 3});
+        when(weaviate.deleteWhere(anyString(), any())).thenReturn(BatchDeleteResult.NONE);
+        when(references.findByDocIdAndUserId("doc-1", "mallory")).thenReturn(Optional.empty());
+
+        DocumentDeletionService.Deletion deletion = service().delete("mallory", "doc-1");
+
+        assertFalse(deletion.found());
+        assertTrue(Files.exists(file));
+        verify(references, never()).deleteById(any());
+        verifyNoInteractions(contentTags, documentCache, localIndex, documentVectors, keywordIndex);
+    }
+
+    @Test
+    void purgeEmptiesTheUploadDirAndEveryCache() throws IOException {
+        Files.write(uploads.resolve("a.pdf"), new byte[] {1});
+        Files.write(Files.createDirectories(uploads.resolve("nested")).resolve("b.pdf"), new byte[] {2});
+        when(weaviate.deleteWhere(eq("Chunk"), any())).thenReturn(new BatchDeleteResult(7, 7, 0));
+        when(weaviate.deleteWhere(eq("Document"), any())).thenReturn(new BatchDeleteResult(2, 2, 0));
+
+        Map<String, Object> removed = service().purgeAll();
+
+        assertEquals(Map.of("files", 2L, "chunks", 7L, "documents", 2L), removed);
+        try (var left = Files.walk(uploads)) {
+            assertTrue(left.noneMatch(Files::isRegularFile));
+        }
+        verify(references).deleteAllInBatch();
+        verify(contentTags).clear();
+        verify(documentCache).clear();
+        verify(localIndex).clear();
+        verify(documentVectors).clear();
+        verify(keywordIndex).clear();
+    }
+}
@@ -0,0 +1,99 @@
+package com.vectormind.api;
+
+import com.vectormind.api.keyword.KeywordIndex;
+import com.vectormind.api.vector.LocalVectorIndex;
+import com.vectormind.api.weaviate.BatchDeleteResult;
+import com.vectormind.api.weaviate.ObjectId;
+import com.vectormind.api.weaviate.StoredChunk;
+import com.vectormind.api.weaviate.WeaviateClient;
+import com.vectormind.api.weaviate.WhereFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrphanChunkCollectorTest {
+
+    private static final long OLD = Instant.now().minus(Duration.ofHours(3)).toEpochMilli();
+    private static final long FRESH = Instant.now().toEpochMilli();
+
+    private final WeaviateClient weaviate = mock(WeaviateClient.class);
+    private final DocumentReferenceRepository references = mock(DocumentReferenceRepository.class);
+    private final LocalVectorIndex localIndex = mock(LocalVectorIndex.class);
+    private final KeywordIndex keywordIndex = mock(KeywordIndex.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OrphanChunkCollector collector = new OrphanChunkCollector(
+        weaviate, references, localIndex, keywordIndex, registry, true, 100, 60, 1000);
+
+    private static StoredChunk chunk(String id, String docId, long created) {
+        return new StoredChunk(id, new StoredChunk.Properties("text", 1, docId, "alice", "default"), null, created);
+    }
+
+    /** One page of chunks, then the empty page that ends the scan. */
+    private void chunks(StoredChunk... page) {
+        when(weaviate.listObjects(eq("Chunk"), isNull(), anyInt(), anyBoolean(), eq(StoredChunk.class)))
+            .thenReturn(List.of(page));
+        when(weaviate.listObjects(eq("Chunk"), eq(page[page.length - 1].id()), anyInt(), anyBoolean(), eq(StoredChunk.class)))
+            .thenReturn(List.of());
+    }
+
+    @Test
+    void deletesOnlyUnknownDocIdsPastTheGracePeriod() {
+        when(references.findAll()).thenReturn(List.of(new DocumentReference("doc-ref", "alice", "r.pdf", null, "upload")));
+        when(weaviate.listObjects(eq("Document"), isNull(), anyInt(), anyBoolean(), eq(ObjectId.class)))
+            .thenReturn(List.of(new ObjectId("doc-known")));
+        when(weaviate.listObjects(eq("Document"), eq("doc-known"), anyInt(), anyBoolean(), eq(ObjectId.class)))
+            .thenReturn(List.of());
+        chunks(chunk("c1", "doc-known", OLD),
+               chunk("c2", "doc-ref", OLD),
+               chunk("c3", "doc-old", OLD),
+               chunk("c4", "doc-old", OLD),
+               chunk("c5", "doc-fresh", OLD),
+               chunk("c6", "doc-fresh", FRESH));
+        when(weaviate.deleteWhere(eq("Chunk"), any())).thenReturn(new BatchDeleteResult(2, 2, 0));
+
+        OrphanChunkCollector.Report report = collector.sweep().orElseThrow();
+
+        verify(weaviate).deleteWhere("Chunk", WhereFilter.equal("docId", "doc-old"));
+        verify(weaviate, never()).deleteWhere("Chunk", WhereFilter.equal("docId", "doc-fresh"));
+        verify(localIndex).removeDocument("alice", "doc-old");
+        verify(keywordIndex).removeDocument("alice", "doc-old");
+        assertEquals(6, report.chunksScanned());
+        assertEquals(1, report.orphanDocuments());
+        assertEquals(2, report.chunksDeleted());
+        assertNull(report.error());
+        assertEquals(2.0, registry.get("chunk_gc.reclaimed").counter().count());
+        assertEquals(report, collector.lastReport().orElseThrow());
+    }
+
+    @Test
+    void sparesDocIdsThatAppearDuringTheScan() {
+        when(references.findAll()).thenReturn(List.of());
+        List<List<ObjectId>> documentScans = new ArrayList<>(List.of(List.of(), List.of(new ObjectId("doc-late"))));
+        when(weaviate.listObjects(eq("Document"), isNull(), anyInt(), anyBoolean(), eq(ObjectId.class)))
+            .thenAnswer(call -> documentScans.isEmpty() ? List.of() : documentScans.remove(0));
+        when(weaviate.listObjects(eq("Document"), eq("doc-late"), anyInt(), anyBoolean(), eq(ObjectId.class)))
+            .thenReturn(List.of());
+        chunks(chunk("c1", "doc-late", OLD));
+
+        OrphanChunkCollector.Report report = collector.sweep().orElseThrow();
+
+        verify(weaviate, never()).deleteWhere(any(), any());
+        assertEquals(0, report.orphanDocuments());
+    }
+}
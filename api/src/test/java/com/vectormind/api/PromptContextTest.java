@@ -0,0 +1,50 @@
+package com.vectormind.api;
+
+import com.vectormind.api.weaviate.ChunkHit;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PromptContextTest {
+
+    private static ChunkHit chunk(int page, String text) {
+        return new ChunkHit(text, page, "doc", "u", 0.8);
+    }
+
+    private static String words(int chars) {
+        return "word ".repeat(chars / 5 + 1).substring(0, chars);
+    }
+
+    @Test
+    void stopsBeforeAChunkThatNoLongerFits() {
+        // 100 tokens = 400 chars; two 150-char chunks and their prefixes use 320
+        PromptContext context = PromptContext.build(
+            List.of(chunk(1, words(150)), chunk(2, words(150)), chunk(3, words(150))), 100);
+
+        assertEquals(2, context.sources().size());
+        assertTrue(context.text().startsWith("Page 1: "));
+        assertTrue(context.text().contains("Page 2: "));
+        assertEquals(80, context.estimatedTokens());
+    }
+
+    @Test
+    void cutsTheLastChunkAtAWordWhenEnoughOfItFits() {
+        PromptContext context = PromptContext.build(List.of(chunk(1, words(300)), chunk(2, words(1000))), 200);
+
+        assertEquals(2, context.sources().size());
+        assertTrue(context.text().length() <= 200 * PromptContext.CHARS_PER_TOKEN);
+        assertTrue(context.text().endsWith("word\n\n"));
+        assertTrue(context.estimatedTokens() <= 200);
+    }
+
+    @Test
+    void dropsChunksWhoseFittingPartWouldBeTooSmall() {
+        PromptContext context = PromptContext.build(List.of(chunk(1, words(1000))), 10);
+
+        assertEquals("", context.text());
+        assertEquals(0, context.sources().size());
+    }
+}
@@ -0,0 +1,98 @@
+package com.vectormind.api.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GuardedCallInterceptorTest {
+
+    private final CircuitBreaker breaker = CircuitBreaker.ofDefaults("test");
+    private final Bulkhead bulkhead = Bulkhead.of("test", BulkheadConfig.custom()
+        .maxConcurrentCalls(1)
+        .maxWaitDuration(Duration.ZERO)
+        .build());
+    private final GuardedCallInterceptor interceptor = new GuardedCallInterceptor(breaker, bulkhead);
+    private final MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("http://dep/x"));
+
+    private static ClientHttpRequestExecution returning(HttpStatus status, InputStream body) {
+        return (req, b) -> new MockClientHttpResponse(body, status);
+    }
+
+    private static ClientHttpRequestExecution returning(HttpStatus status) {
+        return returning(status, InputStream.nullInputStream());
+    }
+
+    private int freePermits() {
+        return bulkhead.getMetrics().getAvailableConcurrentCalls();
+    }
+
+    @Test
+    void holdsPermitUntilResponseIsClosed() throws IOException {
+        ClientHttpResponse response = interceptor.intercept(request, new byte[0], returning(HttpStatus.OK));
+        assertEquals(0, freePermits());
+        assertThrows(BulkheadFullException.class,
+            () -> interceptor.intercept(request, new byte[0], returning(HttpStatus.OK)));
+
+        response.close();
+        assertEquals(1, freePermits());
+        assertEquals(1, breaker.getMetrics().getNumberOfSuccessfulCalls());
+    }
+
+    @Test
+    void closingTwiceReleasesOnce() throws IOException {
+        ClientHttpResponse response = interceptor.intercept(request, new byte[0], returning(HttpStatus.OK));
+        response.close();
+        response.close();
+        assertEquals(1, freePermits());
+        assertEquals(1, breaker.getMetrics().getNumberOfBufferedCalls());
+    }
+
+    @Test
+    void releasesPermitWhenTheCallFails() {
+        ClientHttpRequestExecution failing = (req, b) -> {
+            throw new IOException("connection reset");
+        };
+        assertThrows(IOException.class, () -> interceptor.intercept(request, new byte[0], failing));
+        assertEquals(1, freePermits());
+        assertEquals(1, breaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void countsServerErrorsAsFailures() throws IOException {
+        interceptor.intercept(request, new byte[0], returning(HttpStatus.SERVICE_UNAVAILABLE)).close();
+        assertEquals(1, freePermits());
+        assertEquals(1, breaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void countsBodyReadErrorsAsFailures() throws IOException {
+        InputStream broken = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("truncated body");
+            }
+        };
+        ClientHttpResponse response = interceptor.intercept(request, new byte[0], returning(HttpStatus.OK, broken));
+        assertThrows(IOException.class, () -> response.getBody().read(new byte[16]));
+        response.close();
+
+        assertEquals(1, freePermits());
+        assertEquals(1, breaker.getMetrics().getNumberOfFailedCalls());
+    }
+}
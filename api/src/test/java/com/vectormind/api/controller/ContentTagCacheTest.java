@@ -0,0 +1,77 @@
+package com.vectormind.api.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContentTagCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private final ContentTagCache cache = new ContentTagCache();
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    private ContentTagCache.ContentTag awaitStrong(Path file) throws Exception {
+        for (int i = 0; i < 500; i++) {
+            ContentTagCache.ContentTag tag = cache.tagFor(file);
+            if (!tag.weak()) return tag;
+            Thread.sleep(10);
+        }
+        throw new AssertionError("strong tag never arrived for " + file);
+    }
+
+    @Test
+    void servesWeakTagUntilHashIsReady() throws Exception {
+        Path file = Files.writeString(dir.resolve("a.pdf"), "first version", StandardCharsets.UTF_8);
+
+        ContentTagCache.ContentTag first = cache.tagFor(file);
+        ContentTagCache.ContentTag strong = awaitStrong(file);
+
+        assertTrue(first.weak() || first.equals(strong));
+        assertFalse(strong.weak());
+        assertEquals(Files.size(file), strong.length());
+        assertEquals(strong, cache.tagFor(file));
+    }
+
+    @Test
+    void changedFileStartsOverWithWeakTag() throws Exception {
+        Path file = Files.writeString(dir.resolve("b.pdf"), "first version", StandardCharsets.UTF_8);
+        ContentTagCache.ContentTag before = awaitStrong(file);
+
+        Files.writeString(file, "second, longer version", StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(before.lastModified() + 5_000));
+        ContentTagCache.ContentTag after = awaitStrong(file);
+
+        assertNotEquals(before.etag(), after.etag());
+        assertEquals(Files.size(file), after.length());
+    }
+
+    @Test
+    void identicalContentGetsIdenticalStrongTag() throws Exception {
+        Path a = Files.writeString(dir.resolve("c.pdf"), "same bytes", StandardCharsets.UTF_8);
+        Path b = Files.writeString(dir.resolve("d.pdf"), "same bytes", StandardCharsets.UTF_8);
+
+        assertEquals(awaitStrong(a).etag(), awaitStrong(b).etag());
+    }
+
+    @Test
+    void primeOfMissingFileIsHarmless() throws IOException {
+        cache.prime(dir.resolve("missing.pdf"));
+    }
+}
@@ -0,0 +1,68 @@
+package com.vectormind.api.keyword;
+
+import com.vectormind.api.weaviate.ChunkFilter;
+import com.vectormind.api.weaviate.ChunkHit;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class KeywordRankingTest {
+
+    private static ChunkHit hit(String docId, int page) {
+        return new ChunkHit("text", page, docId, "u", null);
+    }
+
+    @Test
+    void bm25RanksRareTermsAndShortChunksFirst() {
+        UserPostings postings = new UserPostings();
+        postings.add("c1", "d1", "default", "the invoice total is due on receipt of the invoice", 1);
+        postings.add("c2", "d1", "default", "invoice INV-2024-001 for consulting", 2);
+        postings.add("c3", "d2", "default", "general terms and conditions of service apply to every invoice", 3);
+        postings.add("c4", "d2", "default", "payment schedule and late fees", 4);
+
+        List<ChunkHit> hits = postings.search("INV-2024-001 invoice", ChunkFilter.NONE, 10, "u");
+
+        // only c2 has the code; c1 repeats "invoice" in a shorter chunk than c3
+        assertEquals(List.of(2, 1, 3), hits.stream().map(ChunkHit::page).toList());
+    }
+
+    @Test
+    void bm25HonoursFilterAndRemovals() {
+        UserPostings postings = new UserPostings();
+        postings.add("c1", "d1", "default", "quarterly revenue report", 1);
+        postings.add("c2", "d2", "default", "revenue forecast", 2);
+        postings.add("c3", "d3", "other", "revenue by region", 3);
+
+        assertEquals(List.of("d1"),
+            postings.search("revenue", ChunkFilter.document("d1"), 10, "u").stream().map(ChunkHit::docId).toList());
+
+        postings.removeDocument("d2");
+        List<String> docs = postings.search("revenue", ChunkFilter.NONE, 10, "u").stream().map(ChunkHit::docId).toList();
+        assertEquals(2, docs.size());
+        assertFalse(docs.contains("d2"));
+        assertEquals(2, postings.size());
+    }
+
+    @Test
+    void fusionRewardsChunksFoundByBothLists() {
+        List<ChunkHit> vector  = List.of(hit("a", 1), hit("b", 1), hit("c", 1));
+        List<ChunkHit> keyword = List.of(hit("c", 1), hit("d", 1));
+
+        List<ChunkHit> fused = RankFusion.fuse(4, vector, keyword);
+
+        // c: 1/63 + 1/61 beats a's 1/61; d (rank 2) ties b (rank 2), and the first-seen b stays ahead
+        assertEquals(List.of("c", "a", "b", "d"), fused.stream().map(ChunkHit::docId).toList());
+    }
+
+    @Test
+    void fusionKeepsFirstSeenHitAndRespectsLimit() {
+        ChunkHit fromVector = new ChunkHit("text", 1, "a", "u", 0.9);
+        List<ChunkHit> fused = RankFusion.fuse(1, List.of(fromVector), List.of(hit("a", 1)));
+
+        assertEquals(1, fused.size());
+        assertEquals(0.9, fused.get(0).certainty());
+    }
+}
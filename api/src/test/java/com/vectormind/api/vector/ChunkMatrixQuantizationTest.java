@@ -0,0 +1,104 @@
+package com.vectormind.api.vector;
+
+import com.vectormind.api.weaviate.ChunkFilter;
+import com.vectormind.api.weaviate.ChunkHit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChunkMatrixQuantizationTest {
+
+    private static final int DIMENSIONS = 64;
+
+    @TempDir
+    Path dir;
+
+    private static float[] randomVector(Random random) {
+        float[] v = new float[DIMENSIONS];
+        for (int d = 0; d < DIMENSIONS; d++) v[d] = (float) random.nextGaussian();
+        return v;
+    }
+
+    @Test
+    void codesAreWithinHalfAStepOfTheRow() {
+        Random random = new Random(7);
+        byte[] codes = new byte[DIMENSIONS];
+        for (int i = 0; i < 1_000; i++) {
+            float[] unit = VectorMath.normalize(randomVector(random));
+            float scale = ChunkMatrix.quantize(unit, codes, 0);
+
+            float maxAbs = 0f;
+            for (float v : unit) maxAbs = Math.max(maxAbs, Math.abs(v));
+            assertEquals(maxAbs / 127f, scale, 1e-9f);
+            for (int d = 0; d < DIMENSIONS; d++) {
+                assertTrue(Math.abs(unit[d] - codes[d] * scale) <= scale / 2 + 1e-7f);
+            }
+        }
+    }
+
+    @Test
+    void largestComponentUsesTheFullCodeRange() {
+        byte[] codes = new byte[3];
+        float scale = ChunkMatrix.quantize(new float[] {0.6f, -0.8f, 0f}, codes, 0);
+        assertEquals(-127, codes[1]);
+        assertEquals(0, codes[2]);
+        assertEquals(0.8f / 127f, scale, 1e-9f);
+    }
+
+    @Test
+    void zeroRowHasZeroScale() {
+        byte[] codes = new byte[2];
+        assertEquals(0f, ChunkMatrix.quantize(new float[2], codes, 0));
+        assertEquals(0, codes[0]);
+    }
+
+    @Test
+    void quantizedSearchMatchesExactSearch() throws Exception {
+        Random random = new Random(11);
+        List<ChunkMatrix.Row> rows = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            rows.add(new ChunkMatrix.Row("c" + i, "d" + i, "default", "t", i, randomVector(random)));
+        }
+        try (FloatRowStore store = new FloatRowStore(dir.resolve("rows.f32"), DIMENSIONS)) {
+            ChunkMatrix exact = ChunkMatrix.of(DIMENSIONS, rows);
+            ChunkMatrix quantized = ChunkMatrix.quantized(DIMENSIONS, rows, store);
+            for (int q = 0; q < 20; q++) {
+                float[] query = randomVector(random);
+                List<ChunkHit> expected = exact.topK(query, 5, ChunkFilter.NONE, "u");
+                List<ChunkHit> actual = quantized.topK(query, 5, ChunkFilter.NONE, "u");
+                assertEquals(expected.stream().map(ChunkHit::docId).toList(),
+                             actual.stream().map(ChunkHit::docId).toList());
+            }
+        }
+    }
+
+    @Test
+    void relocatedMatrixReadsTheSameRows() throws Exception {
+        Random random = new Random(13);
+        List<ChunkMatrix.Row> rows = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            rows.add(new ChunkMatrix.Row("c" + i, "d" + (i % 4), "default", "t", i, randomVector(random)));
+        }
+        try (FloatRowStore old = new FloatRowStore(dir.resolve("old.f32"), DIMENSIONS);
+             FloatRowStore fresh = new FloatRowStore(dir.resolve("fresh.f32"), DIMENSIONS)) {
+            ChunkMatrix matrix = ChunkMatrix.quantized(DIMENSIONS, rows, old).removeDocument("d0");
+            ChunkMatrix moved = matrix.relocate(fresh);
+
+            assertEquals(matrix.size(), fresh.rowCount());
+            float[] query = randomVector(random);
+            List<ChunkHit> before = matrix.topK(query, 10, ChunkFilter.NONE, "u");
+            List<ChunkHit> after = moved.topK(query, 10, ChunkFilter.NONE, "u");
+            for (int i = 0; i < before.size(); i++) {
+                assertEquals(before.get(i).page(), after.get(i).page());
+                assertEquals(before.get(i).certainty(), after.get(i).certainty(), 1e-9);
+            }
+        }
+    }
+}
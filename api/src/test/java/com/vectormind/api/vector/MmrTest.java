@@ -0,0 +1,52 @@
+package com.vectormind.api.vector;
+
+import com.vectormind.api.weaviate.ChunkHit;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MmrTest {
+
+    private static final float[] QUERY = {1f, 0f, 0f};
+
+    private static ChunkHit hit(String docId, float... vector) {
+        return new ChunkHit("text", 1, docId, "u", null, vector == null ? null : new Vector(vector));
+    }
+
+    private static List<String> docIds(List<ChunkHit> hits) {
+        return hits.stream().map(ChunkHit::docId).toList();
+    }
+
+    // best has relevance 0.9; twin is almost identical to it; other is less relevant but different
+    private final ChunkHit best  = hit("best", 0.9f, 0.436f, 0f);
+    private final ChunkHit twin  = hit("twin", 0.88f, 0.475f, 0f);
+    private final ChunkHit other = hit("other", 0.8f, -0.6f, 0f);
+
+    @Test
+    void lambdaOneKeepsRelevanceOrder() {
+        assertEquals(List.of("best", "twin", "other"),
+            docIds(Mmr.select(QUERY, List.of(other, twin, best), 3, 1.0)));
+    }
+
+    @Test
+    void lowerLambdaSkipsNearDuplicates() {
+        assertEquals(List.of("best", "other"),
+            docIds(Mmr.select(QUERY, List.of(best, twin, other), 2, 0.5)));
+    }
+
+    @Test
+    void hitsWithoutVectorsCountAsRelevantAndNovel() {
+        ChunkHit keywordOnly = hit("keyword", (float[]) null);
+        assertEquals(List.of("best", "keyword"),
+            docIds(Mmr.select(QUERY, List.of(best, twin, keywordOnly), 2, 0.5)));
+    }
+
+    @Test
+    void returnsAtMostK() {
+        assertEquals(3, Mmr.select(QUERY, List.of(best, twin, other), 10, 0.5).size());
+        assertEquals(0, Mmr.select(QUERY, List.of(best, twin, other), 0, 0.5).size());
+        assertEquals(List.of("best"), docIds(Mmr.select(QUERY, List.of(best), 4, 0.5)));
+    }
+}
@@ -0,0 +1,88 @@
+package com.vectormind.api.weaviate;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AdaptiveLimiterTest {
+
+    private static final long SLOW_NANOS = 200_000_000L;
+
+    /** Takes every slot, then hands them all back as fast successes. */
+    private static void fullRound(AdaptiveLimiter limiter) throws InterruptedException {
+        int slots = limiter.limit();
+        long[] starts = new long[slots];
+        for (int i = 0; i < slots; i++) starts[i] = limiter.acquire();
+        for (long start : starts) limiter.release(start, false);
+    }
+
+    @Test
+    void growsWhileSaturatedAndFastUpToTheMax() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(4, 1, 8, 0.5, 2.0);
+        fullRound(limiter);
+        assertEquals(4, limiter.limit());   // +1/limit per saturated release; not a whole slot yet
+        for (int round = 0; round < 50; round++) fullRound(limiter);
+        assertEquals(8, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void doesNotGrowWhenMostlyIdle() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(4, 1, 8, 0.5, 2.0);
+        for (int i = 0; i < 100; i++) {
+            limiter.release(limiter.acquire(), false);
+        }
+        assertEquals(4, limiter.limit());
+    }
+
+    @Test
+    void backsOffOncePerCongestionEventDownToTheMin() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(10, 2, 16, 0.5, 2.0);
+        long earlier = limiter.acquire();
+        long first = limiter.acquire();
+
+        limiter.release(first, true);
+        assertEquals(5, limiter.limit());
+
+        // started before that decrease, so it saw the same congestion
+        limiter.release(earlier, true);
+        assertEquals(5, limiter.limit());
+
+        for (int i = 0; i < 5; i++) limiter.release(limiter.acquire(), true);
+        assertEquals(2, limiter.limit());
+    }
+
+    @Test
+    void backsOffWhenLatencyPassesTheTolerance() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(8, 1, 16, 0.5, 2.0);
+        limiter.release(limiter.acquire(), false);   // fast: sets the baseline
+        assertEquals(8, limiter.limit());
+
+        long start = limiter.acquire();
+        limiter.release(start - SLOW_NANOS, false);
+        assertEquals(4, limiter.limit());
+    }
+
+    @Test
+    void acquireWaitsForAFreeSlot() throws Exception {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(1, 1, 1, 0.5, 2.0);
+        long held = limiter.acquire();
+        CompletableFuture<Long> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limiter.acquire();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThrows(TimeoutException.class, () -> waiting.get(100, TimeUnit.MILLISECONDS));
+
+        limiter.release(held, false);
+        limiter.release(waiting.get(5, TimeUnit.SECONDS), false);
+        assertEquals(0, limiter.inFlight());
+    }
+}
@@ -0,0 +1,82 @@
+package com.vectormind.api.weaviate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vectormind.api.config.WeaviateConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.jsonPath;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class BatchDeleteTest {
+
+    private static final String ENDPOINT = "http://weaviate/v1/batch/objects";
+
+    private final RestTemplate rest = new RestTemplate();
+    private final MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+    private final WeaviateClient client = new WeaviateClient(rest, new WeaviateConfig() {
+        @Override
+        public String getBatchObjectsEndpoint() {
+            return ENDPOINT;
+        }
+    }, new ObjectMapper(), new SimpleMeterRegistry(), ObservationRegistry.NOOP, "", 4, 1, 32, 0.7, 2.0);
+
+    private void expectRound(long limit, long matches, long successful, long failed) {
+        server.expect(requestTo(ENDPOINT))
+            .andExpect(method(HttpMethod.DELETE))
+            .andExpect(jsonPath("$.match.class").value("Chunk"))
+            .andExpect(jsonPath("$.match.where.valueText").value("doc-1"))
+            .andRespond(withSuccess("""
+                {"results":{"limit":%d,"matches":%d,"successful":%d,"failed":%d}}
+                """.formatted(limit, matches, successful, failed), MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void repeatsFullPagesAndStopsAtTheFirstShortOne() {
+        expectRound(2, 2, 2, 0);
+        expectRound(2, 2, 2, 0);
+        expectRound(2, 1, 1, 0);
+
+        BatchDeleteResult total = client.deleteWhere("Chunk", WhereFilter.equal("docId", "doc-1"));
+
+        server.verify();
+        assertEquals(new BatchDeleteResult(5, 5, 0), total);
+    }
+
+    @Test
+    void stopsWhenAPageHasFailures() {
+        expectRound(2, 2, 1, 1);
+
+        BatchDeleteResult total = client.deleteWhere("Chunk", WhereFilter.equal("docId", "doc-1"));
+
+        server.verify();
+        assertEquals(new BatchDeleteResult(2, 1, 1), total);
+    }
+
+    @Test
+    void stopsWhenNothingWasDeleted() {
+        expectRound(2, 2, 0, 0);
+
+        assertEquals(new BatchDeleteResult(2, 0, 0),
+            client.deleteWhere("Chunk", WhereFilter.equal("docId", "doc-1")));
+        server.verify();
+    }
+
+    @Test
+    void rejectsResponsesWithoutResults() {
+        server.expect(requestTo(ENDPOINT))
+            .andRespond(withSuccess("{\"error\":[{\"message\":\"no such class\"}]}", MediaType.APPLICATION_JSON));
+
+        assertThrows(WeaviateQueryException.class,
+            () -> client.deleteWhere("Chunk", WhereFilter.equal("docId", "doc-1")));
+    }
+}
@@ -0,0 +1,67 @@
+package com.vectormind.api.weaviate;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NearVectorQueryTest {
+
+    private static String format(float value) {
+        StringBuilder sb = new StringBuilder();
+        NearVectorQuery.appendFloat(sb, value);
+        return sb.toString();
+    }
+
+    @Test
+    void formatsFixedPointWithoutTrailingZeros() {
+        assertEquals("0.5", format(0.5f));
+        assertEquals("-1", format(-1f));
+        assertEquals("0", format(0f));
+        assertEquals("0", format(-0f));
+        assertEquals("0.0123457", format(0.01234567f));
+        assertEquals("0.0000001", format(1e-7f));
+        assertEquals("-0.25", format(-0.25f));
+        assertEquals("12.75", format(12.75f));
+    }
+
+    @Test
+    void roundsBelowSevenDigitsToZero() {
+        assertEquals("0", format(4e-8f));
+        assertEquals("-0.0000001", format(-6e-8f));
+    }
+
+    @Test
+    void handlesValuesFixedPointCannotHold() {
+        assertEquals("0", format(Float.NaN));
+        assertEquals("0", format(Float.POSITIVE_INFINITY));
+        assertEquals(Float.toString(3e9f), format(3e9f));
+    }
+
+    @Test
+    void parsesBackWithinHalfTheLastDigit() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            float value = random.nextFloat() * 2 - 1;
+            double parsed = Double.parseDouble(format(value));
+            assertTrue(Math.abs(parsed - value) <= 5e-8 + 1e-12, () -> value + " -> " + parsed);
+        }
+    }
+
+    @Test
+    void writesVectorAndWhereVariable() {
+        NearVectorQuery query = NearVectorQuery.of("Chunk")
+            .vector(new float[] {0.5f, -0.25f})
+            .limit(3)
+            .fields("text page")
+            .where(Map.of("path", "userId"));
+
+        assertEquals("query($where: GetObjectsChunkWhereInpObj) { Get { Chunk(where: $where, "
+                + "nearVector: { vector: [0.5,-0.25] }, limit: 3) { text page } } }",
+            query.query());
+        assertEquals(Map.of("where", Map.of("path", "userId")), query.toRequestBody().get("variables"));
+    }
+}
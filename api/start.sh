@@ -8,8 +8,18 @@ echo "GOOGLE_CLIENT_SECRET exists: $([ -n "$GOOGLE_CLIENT_SECRET" ] && echo "YES
 echo "WEAVIATE_URL: $WEAVIATE_URL"
 echo "===================================="
 
+# Images built by the Dockerfile carry AOT-processed classes and a CDS archive
+if [ -f app.jsa ]; then
+  echo "Starting with the CDS archive and AOT-processed context"
+  set -- -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true "$@"
+else
+  echo "No CDS archive (app.jsa); starting without CDS and AOT"
+fi
+
 # Start the application with all environment variables
 exec java \
+  --add-modules jdk.incubator.vector \
+  "$@" \
   -Dopenai.api.key="$OPENAI_API_KEY" \
   -Dgoogle.client.id="$GOOGLE_CLIENT_ID" \
   -Dgoogle.client.secret="$GOOGLE_CLIENT_SECRET" \
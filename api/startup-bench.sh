@@ -0,0 +1,94 @@
+#!/bin/sh
+# Measures time to first request (from launching the JVM to GET /health
+# answering) for the startup-optimized build, run three ways: plain, with
+# Spring AOT, and with AOT plus a CDS archive. Results are kept per commit.
+#
+#   ./startup-bench.sh                      5 runs per mode
+#   RUNS=10 ./startup-bench.sh
+#   STARTUP_MAX_MS=20000 ./startup-bench.sh fail if the aot+cds median is slower
+set -e
+cd "$(dirname "$0")"
+
+runs=${RUNS:-5}
+port=${STARTUP_PORT:-18080}
+commit=$(git rev-parse --short HEAD)
+if ! git diff --quiet HEAD -- src pom.xml; then
+  commit="$commit-dirty"
+fi
+mkdir -p startup-results
+out="$PWD/startup-results/$commit.json"
+
+./mvnw -q -B -Pstartup -DskipTests package
+
+# Laid out like the Docker image, in a scratch directory so uploads/ and
+# cache/ stay out of the checkout
+work=$(mktemp -d)
+trap 'rm -rf "$work"' EXIT
+cp target/api-0.0.1-SNAPSHOT.jar "$work/app.jar"
+cp -r target/lib "$work/lib"
+cd "$work"
+
+java --add-modules jdk.incubator.vector -XX:ArchiveClassesAtExit=app.jsa \
+  -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh -jar app.jar > train.log 2>&1 || true
+if [ ! -s app.jsa ]; then
+  echo "CDS training run produced no archive; see its output:" >&2
+  tail -40 train.log >&2
+  exit 1
+fi
+
+now_ms() {
+  python3 -c 'import time; print(time.time_ns() // 1000000)'
+}
+
+# time_to_first_request <jvm options...>
+time_to_first_request() {
+  start=$(now_ms)
+  java --add-modules jdk.incubator.vector "$@" -jar app.jar --server.port="$port" \
+    --management.server.port=$((port + 1)) > app.log 2>&1 &
+  pid=$!
+  until curl -sf -o /dev/null "http://127.0.0.1:$port/health"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "App exited during startup; see app.log:" >&2
+      tail -20 app.log >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  echo $(( $(now_ms) - start ))
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+}
+
+median() {
+  echo "$@" | tr ' ' '\n' | sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+json="{\"commit\": \"$commit\", \"runs\": $runs, \"modes\": {"
+sep=""
+for mode in default aot aot+cds; do
+  case $mode in
+    default) opts="" ;;
+    aot)     opts="-Dspring.aot.enabled=true" ;;
+    aot+cds) opts="-Dspring.aot.enabled=true -XX:SharedArchiveFile=app.jsa" ;;
+  esac
+  samples=""
+  i=0
+  while [ $i -lt "$runs" ]; do
+    # shellcheck disable=SC2086
+    samples="$samples $(time_to_first_request $opts)"
+    i=$((i + 1))
+  done
+  samples=${samples# }
+  med=$(median $samples)
+  printf '%-8s median %6d ms   samples: %s\n' "$mode" "$med" "$samples"
+  json="$json$sep\"$mode\": {\"medianMs\": $med, \"samplesMs\": [$(echo "$samples" | tr ' ' ',')]}"
+  sep=", "
+  [ "$mode" = "aot+cds" ] && optimized=$med
+done
+echo "$json}}" > "$out"
+echo "Results written to $out"
+
+if [ -n "$STARTUP_MAX_MS" ] && [ "$optimized" -gt "$STARTUP_MAX_MS" ]; then
+  echo "REGRESSION: aot+cds median $optimized ms above $STARTUP_MAX_MS ms" >&2
+  exit 1
+fi